@@ -29,8 +29,15 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 #define	_FUZION_H	1
 
 #include <stdlib.h>     // setenv, unsetenv
-#include <sys/stat.h>   // mkdir
+#include <stdio.h>      // fileno
+#include <stdint.h>     // uintptr_t
+#include <errno.h>      // errno
+#include <unistd.h>     // sysconf
+#include <sys/stat.h>   // mkdir, fstat
 #include <sys/types.h>  // mkdir
+#if !_WIN32
+#include <sys/mman.h>   // mmap, munmap
+#endif
 
 
 // make directory, return zero on success
@@ -68,4 +75,53 @@ int fzE_unsetenv(const char *name){
 }
 
 
+
+// map size bytes of file fp starting at offset into memory for reading, set
+// *result to zero on success and to the error number on failure.  Fails with
+// EINVAL if offset+size exceeds the size of the file, since accessing the
+// mapped pages past the end of the file would raise SIGBUS.
+void * fzE_mmap(FILE * fp, off_t offset, size_t size, int * result){
+#if _WIN32
+  // NYI: use CreateFileMapping and MapViewOfFile
+  *result = -1;
+  return NULL;
+#else
+  struct stat st;
+  if (fstat(fileno(fp), &st) != 0)
+    {
+      *result = errno;
+      return NULL;
+    }
+  if (offset < 0 || (uintmax_t) offset + size > (uintmax_t) st.st_size)
+    {
+      *result = EINVAL;
+      return NULL;
+    }
+  // mmap requires offset to be a multiple of the page size
+  off_t delta = offset % sysconf(_SC_PAGESIZE);
+  void * m = mmap(NULL, size + delta, PROT_READ, MAP_PRIVATE, fileno(fp), offset - delta);
+  if (m == MAP_FAILED)
+    {
+      *result = errno;
+      return NULL;
+    }
+  *result = 0;
+  return (char *) m + delta;
+#endif
+}
+
+
+
+// unmap memory that was mapped by fzE_mmap, return zero on success and the
+// error number on failure
+int fzE_munmap(void * address, size_t size){
+#if _WIN32
+  return -1;
+#else
+  size_t delta = (uintptr_t) address % sysconf(_SC_PAGESIZE);
+  return munmap((char *) address - delta, size + delta) == 0 ? 0 : errno;
+#endif
+}
+
+
 #endif /* fz.h  */
@@ -26,7 +26,8 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.air;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -81,11 +82,21 @@ public class Clazzes extends ANY
   private static final Map<AbstractType, Clazz> _clazzesForTypes_ = new TreeMap<>();
 
 
+  /**
+   * Cache for clazz(AbstractType) indexed by the identity of the intern()ed
+   * type.  Types that are not instances of ast.Type are not intern()ed, so
+   * equal types may still be different instances and _clazzesForTypes_ has to
+   * be used on a miss, but repeated lookups for the same instance avoid the
+   * deep comparison of types in _clazzesForTypes_.
+   */
+  private static final IdentityHashMap<AbstractType, Clazz> _clazzesForTypeInstances_ = new IdentityHashMap<>();
+
+
   /**
    * All clazzes found so far that have not been analyzed yet for clazzes that
    * they require.
    */
-  private static final LinkedList<Clazz> clazzesToBeVisited = new LinkedList<>();
+  private static final ArrayDeque<Clazz> clazzesToBeVisited = new ArrayDeque<>();
 
 
   static interface TypF
@@ -418,7 +429,7 @@ public class Clazzes extends ANY
    */
   public static void findAllClasses(Clazz main)
   {
-    var toLayout = new LinkedList<Clazz>();
+    var toLayout = new ArrayDeque<Clazz>();
     int clazzCount = 0;
 
     // make sure internally referenced clazzes do exist:
@@ -470,7 +481,7 @@ public class Clazzes extends ANY
              */
             if (!clazzesToBeVisited.isEmpty() && _options_.verbose(1))
               {
-                Errors.warning("New clazz created during layout phase: "+clazzesToBeVisited.get(0));
+                Errors.warning("New clazz created during layout phase: "+clazzesToBeVisited.peekFirst());
               }
           }
       }
@@ -1179,22 +1190,27 @@ public class Clazzes extends ANY
       (Errors.count() > 0 || !thiz.dependsOnGenerics(),
        !thiz.isThisType());
 
-    Clazz outerClazz;
-    if (thiz.outer() != null)
-      {
-        outerClazz = clazz(thiz.outer());
-      }
-    else
-      {
-        outerClazz = null;
-      }
-
     var t = Types.intern(thiz);
-    var result = _clazzesForTypes_.get(t);
+    var result = _clazzesForTypeInstances_.get(t);
     if (result == null)
       {
-        result = create(t, outerClazz);
-        _clazzesForTypes_.put(t, result);
+        Clazz outerClazz;
+        if (thiz.outer() != null)
+          {
+            outerClazz = clazz(thiz.outer());
+          }
+        else
+          {
+            outerClazz = null;
+          }
+
+        result = _clazzesForTypes_.get(t);
+        if (result == null)
+          {
+            result = create(t, outerClazz);
+            _clazzesForTypes_.put(t, result);
+          }
+        _clazzesForTypeInstances_.put(t, result);
       }
 
     if (POSTCONDITIONS) ensure
@@ -1354,6 +1370,7 @@ public class Clazzes extends ANY
   {
     clazzes.clear();
     _clazzesForTypes_.clear();
+    _clazzesForTypeInstances_.clear();
     clazzesToBeVisited.clear();
     universe.clear();
     c_void.clear();
@@ -1393,6 +1410,8 @@ public class Clazzes extends ANY
     _whenCalledDynamically_.clear();
     _whenCalled_.clear();
     _calledDynamically_.clear();
+    _runtimeClazzIdCount = 0;
+    AirErrors.count = 0;
   }
 
 
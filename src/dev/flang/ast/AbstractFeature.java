@@ -1550,7 +1550,7 @@ public abstract class AbstractFeature extends ANY implements Comparable<Abstract
   public AbstractFeature get(SrcModule mod, String name, int argcount)
   {
     AbstractFeature result = Types.f_ERROR;
-    var d = mod.declaredFeatures(this);
+    var d = mod.declaredFeatures(this, name);
     var set = (argcount >= 0
                ? FeatureName.getAll(d, name, argcount)
                : FeatureName.getAll(d, name          )).values();
@@ -894,8 +894,8 @@ public abstract class AbstractType extends ANY implements Comparable<AbstractTyp
        other != null,
        other.checkedForGeneric());
 
-    int result = compareToIgnoreOuter(other);
-    if (result == 0 && !isGenericArgument())
+    int result = this == other ? 0 : compareToIgnoreOuter(other);
+    if (result == 0 && this != other && !isGenericArgument())
       {
         var to = this .outer();
         var oo = other.outer();
@@ -26,7 +26,7 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.ast;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 
 import dev.flang.util.ANY;
 import dev.flang.util.Errors;
@@ -144,47 +144,47 @@ public class Resolution extends ANY
   /**
    * List of features scheduled for inheritance resolution
    */
-  final LinkedList<Feature> forInheritance = new LinkedList<>();
+  final ArrayDeque<Feature> forInheritance = new ArrayDeque<>();
 
   /**
    * List of features scheduled for resolution for declarations
    */
-  final LinkedList<Feature> forDeclarations = new LinkedList<>();
+  final ArrayDeque<Feature> forDeclarations = new ArrayDeque<>();
 
   /**
    * List of features scheduled for type resolution
    */
-  final LinkedList<Feature> forType = new LinkedList<>();
+  final ArrayDeque<Feature> forType = new ArrayDeque<>();
 
   /**
    * List of features scheduled for first syntactic sugar resolution
    */
-  final LinkedList<Feature> forSyntacticSugar1 = new LinkedList<>();
+  final ArrayDeque<Feature> forSyntacticSugar1 = new ArrayDeque<>();
 
   /**
    * List of features scheduled for type inference
    */
-  final LinkedList<Feature> forTypeInference = new LinkedList<>();
+  final ArrayDeque<Feature> forTypeInference = new ArrayDeque<>();
 
   /**
    * List of features scheduled for boxing
    */
-  final LinkedList<Feature> forBoxing = new LinkedList<>();
+  final ArrayDeque<Feature> forBoxing = new ArrayDeque<>();
 
   /**
    * List of features scheduled for type checking
    */
-  final LinkedList<Feature> forCheckTypes1 = new LinkedList<>();
+  final ArrayDeque<Feature> forCheckTypes1 = new ArrayDeque<>();
 
   /**
    * List of features scheduled for second syntactic sugar resolution
    */
-  final LinkedList<Feature> forSyntacticSugar2 = new LinkedList<>();
+  final ArrayDeque<Feature> forSyntacticSugar2 = new ArrayDeque<>();
 
   /**
    * List of features scheduled for second pass of type checking
    */
-  final LinkedList<Feature> forCheckTypes2 = new LinkedList<>();
+  final ArrayDeque<Feature> forCheckTypes2 = new ArrayDeque<>();
 
 
   /*--------------------------  constructors  ---------------------------*/
@@ -51,6 +51,14 @@ public interface SrcModule
   SortedMap<FeatureName, AbstractFeature>declaredFeatures(AbstractFeature outer);
 
 
+  /**
+   * Get declared features with given base name for given outer Feature as seen
+   * by this module.  Unlike declaredFeatures(outer), this does not need to load
+   * all the declared features of outer.  Result is never null.
+   */
+  SortedMap<FeatureName, AbstractFeature>declaredFeatures(AbstractFeature outer, String baseName);
+
+
   /**
    * Find all the inner feature declarations within this feature and set
    * this._outer and, recursively, the outer references of all inner features to
@@ -66,6 +74,7 @@ public interface SrcModule
 
 
   SortedMap<FeatureName, AbstractFeature> declaredOrInheritedFeatures(AbstractFeature outer);
+  SortedMap<FeatureName, AbstractFeature> declaredOrInheritedFeatures(AbstractFeature outer, String baseName);
   AbstractFeature lookupFeature(AbstractFeature outer, FeatureName name, AbstractFeature original);
   void findDeclaredOrInheritedFeatures(Feature outer);
   List<FeatureAndOuter> lookup(AbstractFeature thiz, String name, Stmnt use, boolean traverseOuter);
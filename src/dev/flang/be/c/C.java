@@ -414,7 +414,7 @@ public class C extends ANY
     TYPES           { CStmnt compile(C c, int cl) { return c._types.types(cl);   } }, // declare types
     STRUCTS         { CStmnt compile(C c, int cl) { return c._types.structs(cl); } }, // generate struct declarations
     FORWARDS        { CStmnt compile(C c, int cl) { return c.forwards(cl);       } }, // generate forward declarations only
-    IMPLEMENTATIONS { CStmnt compile(C c, int cl) { return c.code(cl);           } }; // generate C functions
+    IMPLEMENTATIONS { CStmnt compile(C c, int cl) { return c._dedup.code(cl);    } }; // generate C functions
 
     /**
      * Perform this compilation phase on given clazz using given backend.
@@ -478,6 +478,20 @@ public class C extends ANY
   final Intrinsics _intrinsics;
 
 
+  /**
+   * Detection of identical C functions.
+   */
+  final CDedup _dedup;
+
+
+  /**
+   * true while the code for a routine is created whose current instance is
+   * replaced by individual local variables for its fields, see
+   * codeForRoutine().
+   */
+  private boolean _scalarCur = false;
+
+
   /*---------------------------  constructors  ---------------------------*/
 
 
@@ -500,6 +514,7 @@ public class C extends ANY
     _names = new CNames(fuir);
     _types = new CTypes(_fuir, _names);
     _intrinsics = new Intrinsics();
+    _dedup = new CDedup(this);
     Errors.showAndExit();
   }
 
@@ -565,7 +580,32 @@ public class C extends ANY
     _options.verbosePrintln(" * " + command.toString("", " ", ""));;
     try
       {
-        var p = new ProcessBuilder().inheritIO().command(command).start();
+        var pb = new ProcessBuilder().command(command);
+        Process p;
+        if (_options._inServer)
+          { // System.out and System.err are redirected to the client by the
+            // compile server, so the C compiler's output is copied to them:
+            var pp = pb.redirectInput(ProcessBuilder.Redirect.INHERIT).start();
+            var out = new Thread(() ->
+              {
+                try
+                  {
+                    pp.getInputStream().transferTo(System.out);
+                  }
+                catch (IOException e)
+                  {
+                    System.err.println("C backend: I/O error when copying C compiler output: " + e);
+                  }
+              });
+            out.start();
+            pp.getErrorStream().transferTo(System.err);
+            out.join();
+            p = pp;
+          }
+        else
+          {
+            p = pb.inheritIO().start();
+          }
         p.waitFor();
         if (p.exitValue() != 0)
           {
@@ -629,6 +669,7 @@ public class C extends ANY
                                                  CExpr.call("memcpy", new List<>(r, o, s)),
                                                  r.ret()))));
     var ordered = _types.inOrder();
+    _dedup.find(ordered);
 
     // declaration of struct that is meant to passed to
     // the thread start routine
@@ -1190,7 +1231,7 @@ public class C extends ANY
    *
    * @return the C code
    */
-  private CStmnt cFunctionDecl(int cl, boolean pre, CStmnt body)
+  CStmnt cFunctionDecl(int cl, boolean pre, CStmnt body)
   {
     var res = _fuir.clazzResultClazz(cl);
     var resultType = pre || !_fuir.hasData(res)
@@ -1233,11 +1274,11 @@ public class C extends ANY
         switch (_fuir.clazzKind(cl))
           {
           case Routine  :
-          case Intrinsic: l.add(cFunctionDecl(cl, false, null));
+          case Intrinsic: l.add(_dedup.forward(cl, false, cFunctionDecl(cl, false, null)));
           }
         if (_fuir.hasPrecondition(cl))
           {
-            l.add(cFunctionDecl(cl, true, null));
+            l.add(_dedup.forward(cl, true, cFunctionDecl(cl, true, null)));
           }
       }
     return CStmnt.seq(l);
@@ -1245,36 +1286,38 @@ public class C extends ANY
 
 
   /**
-   * Create code for given clazz cl.
+   * Create code for given clazz cl or its precondition.
    *
    * @param cl id of clazz to compile
    *
-   * @return C statements with the forward declarations required for cl.
+   * @param pre true to create the precondition function, not the function itself.
+   *
+   * @return C statements with the function for cl or its precondition,
+   * CStmnt.EMPTY if none.
    */
-  public CStmnt code(int cl)
+  CStmnt code(int cl, boolean pre)
   {
-    var l = new List<CStmnt>();
+    var res = CStmnt.EMPTY;
     if (_fuir.clazzNeedsCode(cl))
       {
         var ck = _fuir.clazzKind(cl);
-        switch (ck)
+        if (pre)
           {
-          case Routine:
-          case Intrinsic:
-            {
-              l.add(CStmnt.lineComment("code for clazz#"+_names.clazzId(cl).code()+" "+_fuir.clazzAsString(cl)+":"));
-              var o = ck == FUIR.FeatureKind.Routine ? codeForRoutine(cl, false)
-                                                     : _intrinsics.code(this, cl);
-              l.add(cFunctionDecl(cl, false, o));
-            }
+            if (_fuir.hasPrecondition(cl))
+              {
+                res = CStmnt.seq(CStmnt.lineComment("code for clazz#"+_names.clazzId(cl).code()+" precondition of "+_fuir.clazzAsString(cl)+":"),
+                                 cFunctionDecl(cl, true, codeForRoutine(cl, true)));
+              }
           }
-        if (_fuir.hasPrecondition(cl))
+        else if (ck == FUIR.FeatureKind.Routine || ck == FUIR.FeatureKind.Intrinsic)
           {
-            l.add(CStmnt.lineComment("code for clazz#"+_names.clazzId(cl).code()+" precondition of "+_fuir.clazzAsString(cl)+":"));
-            l.add(cFunctionDecl(cl, true, codeForRoutine(cl, true)));
+            var o = ck == FUIR.FeatureKind.Routine ? codeForRoutine(cl, false)
+                                                   : _intrinsics.code(this, cl);
+            res = CStmnt.seq(CStmnt.lineComment("code for clazz#"+_names.clazzId(cl).code()+" "+_fuir.clazzAsString(cl)+":"),
+                             cFunctionDecl(cl, false, o));
           }
       }
-    return CStmnt.seq(l);
+    return res;
   }
 
 
@@ -1292,6 +1335,7 @@ public class C extends ANY
       (_fuir.clazzKind(cl) == FUIR.FeatureKind.Routine || pre);
 
     _names._tempVarId = 0;  // reset counter for unique temp variables for function results
+    _scalarCur = !pre && scalarReplaceCurrent(cl);
     var cur = _fuir.clazzIsRef(cl) ? fields(_names.CURRENT, cl)
                                    : _names.CURRENT.deref();
     var l = new List<CStmnt>();
@@ -1300,16 +1344,94 @@ public class C extends ANY
     if (!pre && _fuir.hasData(res))
       {
         var rf = _fuir.clazzResultField(cl);
-        l.add(rf != -1 ? current(cl).field(_names.fieldName(rf)).ret()  // a routine, return result field
-                       : current(cl).ret()                              // a constructor, return current instance
+        l.add(rf != -1 ? (_scalarCur ? _names.currentField(rf)                  // a routine, return result field
+                                     : current(cl).field(_names.fieldName(rf))).ret()
+                       : _scalarCur ? returnCurrentFields(cl)                  // a constructor, return instance made from fields
+                                    : current(cl).ret()                         // a constructor, return current instance
               );
       }
-    return CStmnt.seq(CStmnt.lineComment(pre                       ? "for precondition only, need to check if it may escape" :
-                                         _escape.doesCurEscape(cl) ? "instance may escape, so we need malloc here"
-                                                                   : "instance does not escape, put it on stack"),
-                      _escape.doesCurEscape(cl) ? declareAllocAndInitClazzId(cl, _names.CURRENT)
-                                                : CStmnt.decl(_names.struct(cl), _names.CURRENT),
-                      CStmnt.seq(l).label("start"));
+    var result = CStmnt.seq(CStmnt.lineComment(pre                       ? "for precondition only, need to check if it may escape" :
+                                               _scalarCur                ? "instance does not escape and only its fields are used, put fields in local vars" :
+                                               _escape.doesCurEscape(cl) ? "instance may escape, so we need malloc here"
+                                                                         : "instance does not escape, put it on stack"),
+                            _scalarCur                ? declareCurrentFields(cl) :
+                            _escape.doesCurEscape(cl) ? declareAllocAndInitClazzId(cl, _names.CURRENT)
+                                                      : CStmnt.decl(_names.struct(cl), _names.CURRENT),
+                            CStmnt.seq(l).label("start"));
+    _scalarCur = false;
+    return result;
+  }
+
+
+  /**
+   * Check if the current instance of routine cl can be replaced by individual
+   * local variables for its fields.  This is the case if it is a value that is
+   * only used to read and write its fields.
+   *
+   * For a constructor of a value type such as a tuple or an option, this
+   * avoids allocating the instance on the heap, the result is created from the
+   * local variables when it is returned, see returnCurrentFields().  For other
+   * routines, the current instance must not escape.
+   *
+   * @param cl id of a Routine
+   */
+  boolean scalarReplaceCurrent(int cl)
+  {
+    return
+      !_fuir.clazzIsRef(cl)                                                 &&
+      cl != _fuir.clazzUniverse()                                           &&
+      !_types.isScalar(cl)                                                  &&
+      _fuir.hasData(cl)                                                     &&
+      (_fuir.clazzResultField(cl) == -1 || !_escape.doesCurEscape(cl))     &&
+      _escape.isCurOnlyUsedForFieldAccess(cl);
+  }
+
+
+  /**
+   * Declare local variables for all fields of the current instance of routine
+   * cl in case scalarReplaceCurrent(cl).  For a constructor, the struct the
+   * result is returned in is declared as well.
+   *
+   * @param cl id of a Routine
+   */
+  CStmnt declareCurrentFields(int cl)
+  {
+    var l = new List<CStmnt>();
+    if (_fuir.clazzResultField(cl) == -1)
+      {
+        l.add(CStmnt.decl(_names.struct(cl), CNames.CURRENT));
+      }
+    for (int i = 0; i < _fuir.clazzNumFields(cl); i++)
+      {
+        var f = _fuir.clazzField(cl, i);
+        if (_fuir.hasData(_fuir.clazzResultClazz(f)))
+          {
+            l.add(CStmnt.decl(_types.clazzField(f), _names.currentField(f)));
+          }
+      }
+    return CStmnt.seq(l);
+  }
+
+
+  /**
+   * Return the instance of constructor cl made from the local variables
+   * declared by declareCurrentFields(cl).
+   *
+   * @param cl id of a constructor
+   */
+  CStmnt returnCurrentFields(int cl)
+  {
+    var l = new List<CStmnt>();
+    for (int i = 0; i < _fuir.clazzNumFields(cl); i++)
+      {
+        var f = _fuir.clazzField(cl, i);
+        if (_fuir.hasData(_fuir.clazzResultClazz(f)))
+          {
+            l.add(CNames.CURRENT.field(_names.fieldName(f)).assign(_names.currentField(f)));
+          }
+      }
+    l.add(CNames.CURRENT.ret());
+    return CStmnt.seq(l);
   }
 
 
@@ -1323,7 +1445,9 @@ public class C extends ANY
     var res1 = _names.CURRENT;
     var res2 = _fuir.clazzIsRef(cl)      ? res1 : res1.deref();
     var res3 = _escape.doesCurEscape(cl) ? res2 : res2.adrOf();
-    return !_fuir.hasData(cl) ? CExpr.UNIT : res3;
+    return !_fuir.hasData(cl) ? CExpr.UNIT :
+           _scalarCur         ? res1 // only used as target in field(), which will use the local var for the field
+                              : res3;
   }
 
 
@@ -1342,7 +1466,9 @@ public class C extends ANY
       {
         outer = _names.UNIVERSE;
       }
-    return fields(outer, outercl).field(_names.fieldName(field));
+    return _scalarCur && outer == CNames.CURRENT
+      ? _names.currentField(field)
+      : fields(outer, outercl).field(_names.fieldName(field));
   }
 
   /**
@@ -1379,6 +1505,15 @@ public class C extends ANY
     return _options._useBoehmGC ? "GC_REALLOC" : "realloc";
   }
 
+
+  /**
+   * @return the name of free function that is used
+   */
+  String free()
+  {
+    return _options._useBoehmGC ? "GC_FREE" : "free";
+  }
+
 }
 
 /* end of file */
@@ -0,0 +1,371 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class CDedup
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.be.c;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.HashMap;
+import java.util.TreeMap;
+
+import dev.flang.util.ANY;
+import dev.flang.util.Errors;
+import dev.flang.util.List;
+
+
+/**
+ * CDedup finds clazzes whose C functions are identical such that only one C
+ * function has to be emitted per equivalence class.
+ *
+ * Monomorphization creates one clazz per actual type, but often the code does
+ * not depend on the actual type, e.g., if a type parameter is only used for
+ * refs.  Two functions are considered identical if their C code is identical
+ * after removing comments and after replacing the function's own name and the
+ * names of its own structs by place holders.  The type and struct
+ * declarations of the clazz are part of the compared code, so the layout of
+ * the current instance is taken into account.  The signatures, however, must
+ * be identical except for the function name since they are what callers see.
+ *
+ * To find duplicates before the forward declarations are written, the code of
+ * all functions is created up front.  For comparison, only a SHA-256 digest
+ * of its token stream is kept, the rendered text is dropped right away.  The
+ * code of functions that are not duplicates is kept until it is emitted,
+ * while duplicates are replaced by a '#define' to the function of the first
+ * clazz in their equivalence class.
+ */
+class CDedup extends ANY
+{
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Algorithm used to create the digests of the token streams.
+   */
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+
+  /**
+   * Place holder used to replace the name of the function that is compared.
+   */
+  private static final String FUNCTION_PLACEHOLDER = "$F";
+
+
+  /**
+   * Place holder used to replace the name of the clazz' struct.
+   */
+  private static final String STRUCT_PLACEHOLDER = "$S";
+
+
+  /**
+   * Place holder used to replace the name of the value struct of a ref clazz.
+   */
+  private static final String VALUE_STRUCT_PLACEHOLDER = "$V";
+
+
+  /**
+   * Byte fed to the digest after every token, such that adjacent tokens
+   * cannot be confused with a single token.
+   */
+  private static final byte TOKEN_END = 0;
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * The C backend we are working for.
+   */
+  private final C _c;
+
+
+  /**
+   * For every function or precondition that duplicates another one, this maps
+   * its key (clazz id or ~clazz id) to the clazz whose function or
+   * precondition is emitted instead.
+   */
+  private final TreeMap<Integer, Integer> _canonical = new TreeMap<>();
+
+
+  /**
+   * The code created by find() for every function or precondition that is not
+   * a duplicate, by its key (clazz id or ~clazz id).  Entries are removed when
+   * the code is emitted.
+   */
+  private final TreeMap<Integer, CStmnt> _code = new TreeMap<>();
+
+
+  /**
+   * Number of functions and preconditions found by find().
+   */
+  private int _count = 0;
+
+
+  /*---------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create CDedup for given backend.
+   *
+   * @param c the C backend
+   */
+  CDedup(C c)
+  {
+    _c = c;
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * Key used for _canonical.
+   *
+   * @param cl a clazz id
+   *
+   * @param pre true for cl's precondition, false for cl itself.
+   */
+  private static int key(int cl, boolean pre)
+  {
+    return pre ? ~cl : cl;
+  }
+
+
+  /**
+   * Create the code for all given clazzes and find duplicates.
+   *
+   * @param clazzes the clazzes in the order their code will be emitted.
+   */
+  void find(List<Integer> clazzes)
+  {
+    MessageDigest md = null;
+    try
+      {
+        md = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      }
+    catch (NoSuchAlgorithmException e)
+      {
+        Errors.error("failed to create message digest using algorithm '" + DIGEST_ALGORITHM + "': " + e);
+      }
+    var classes = new HashMap<ByteBuffer, Integer>();
+    for (var cl : clazzes)
+      {
+        for (var pre : new boolean[] { false, true })
+          {
+            var s = _c.code(cl, pre);
+            Integer n = null;
+            if (s != CStmnt.EMPTY && md != null)
+              {
+                _count++;
+                n = classes.putIfAbsent(digest(md, cl, pre, s), cl);
+              }
+            if (n != null)
+              {
+                _canonical.put(key(cl, pre), n);
+              }
+            else
+              {
+                _code.put(key(cl, pre), s);
+              }
+          }
+      }
+    _c._options.verbosePrintln(2, " + merged " + _canonical.size() + " of " + _count + " identical C functions");
+  }
+
+
+  /**
+   * Create the digest of the token stream that is compared to find duplicates
+   * of the function for cl or its precondition.
+   *
+   * @param md the digest to use, will be reset.
+   *
+   * @param cl a clazz id
+   *
+   * @param pre true for cl's precondition, false for cl itself.
+   *
+   * @param s the code of that function.
+   */
+  private ByteBuffer digest(MessageDigest md, int cl, boolean pre, CStmnt s)
+  {
+    var fuir = _c._fuir;
+    var names = _c._names;
+    var vcl = fuir.clazzAsValue(cl);
+    var fn = names.function(cl, pre);
+    var st = names.struct(cl);
+    var vst = vcl != cl ? names.struct(vcl) : null;
+    md.reset();
+    md.update(pre ? (byte) 1 : (byte) 0);
+    // the signature is visible to callers, so own struct types used in the
+    // signature, e.g., as the result of a constructor, must be identical:
+    tokens(md, _c.cFunctionDecl(cl, pre, null).code(), fn, null, null);
+    var sb = new CString();
+    _c._types.types  (cl).code(sb);
+    _c._types.structs(cl).code(sb);
+    if (vst != null)
+      {
+        _c._types.types  (vcl).code(sb);
+        _c._types.structs(vcl).code(sb);
+      }
+    s.code(sb);
+    tokens(md, sb.toString(), fn, st, vst);
+    return ByteBuffer.wrap(md.digest());
+  }
+
+
+  /**
+   * Feed the tokens of C code s to md.  Comments and white space are skipped,
+   * the identifiers fn, st and vst are replaced by place holders.  String and
+   * char literals are single tokens.
+   *
+   * @param md the digest to update
+   *
+   * @param s C code
+   *
+   * @param fn the name of the function, replaced by FUNCTION_PLACEHOLDER.
+   *
+   * @param st the name of the clazz' struct, replaced by STRUCT_PLACEHOLDER,
+   * null if none.
+   *
+   * @param vst the name of the value struct of a ref clazz, replaced by
+   * VALUE_STRUCT_PLACEHOLDER, null if none.
+   */
+  static void tokens(MessageDigest md, String s, String fn, String st, String vst)
+  {
+    var l = s.length();
+    var i = 0;
+    while (i < l)
+      {
+        var c = s.charAt(i);
+        var start = i;
+        if (c == '/' && i + 1 < l && s.charAt(i + 1) == '/')
+          {
+            while (i < l && s.charAt(i) != '\n')
+              {
+                i++;
+              }
+          }
+        else if (c == '/' && i + 1 < l && s.charAt(i + 1) == '*')
+          {
+            var e = s.indexOf("*/", i + 2);
+            i = e < 0 ? l : e + 2;
+          }
+        else if (Character.isWhitespace(c))
+          {
+            i++;
+          }
+        else
+          {
+            if (c == '"' || c == '\'')
+              {
+                i++;
+                while (i < l && s.charAt(i) != c)
+                  {
+                    i = i + (s.charAt(i) == '\\' ? 2 : 1);
+                  }
+                i = Math.min(i + 1, l);
+              }
+            else if (isIdentChar(c))
+              {
+                while (i < l && isIdentChar(s.charAt(i)))
+                  {
+                    i++;
+                  }
+              }
+            else
+              {
+                i++;
+              }
+            var t = s.substring(start, i);
+            t = t.equals(fn)                  ? FUNCTION_PLACEHOLDER     :
+                st  != null && t.equals(st)  ? STRUCT_PLACEHOLDER       :
+                vst != null && t.equals(vst) ? VALUE_STRUCT_PLACEHOLDER
+                                             : t;
+            md.update(t.getBytes(StandardCharsets.UTF_8));
+            md.update(TOKEN_END);
+          }
+      }
+  }
+
+
+  /**
+   * Is c a character that may be part of a C identifier or a number?
+   */
+  private static boolean isIdentChar(char c)
+  {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+  }
+
+
+  /**
+   * Create forward declarations for the function of given clazz or its
+   * precondition.  For a duplicate, this is a '#define' to the function that
+   * is emitted instead.
+   *
+   * @param cl a clazz id
+   *
+   * @param pre true for cl's precondition, false for cl itself.
+   *
+   * @param decl the forward declaration to use in case cl is not a duplicate.
+   */
+  CStmnt forward(int cl, boolean pre, CStmnt decl)
+  {
+    var n = _canonical.get(key(cl, pre));
+    return n == null ? decl
+                     : CStmnt.define(_c._names.function(cl, pre),
+                                     _c._names.function(n, pre));
+  }
+
+
+  /**
+   * Get the code for the function of given clazz and its precondition.  For
+   * duplicates, this is only a comment.
+   *
+   * @param cl a clazz id
+   */
+  CStmnt code(int cl)
+  {
+    var l = new List<CStmnt>();
+    for (var pre : new boolean[] { false, true })
+      {
+        var n = _canonical.get(key(cl, pre));
+        if (CHECKS) check
+          (n != null || _code.containsKey(key(cl, pre)));
+
+        l.add(n == null ? _code.remove(key(cl, pre))
+                        : CStmnt.lineComment("code for " + (pre ? "precondition of " : "") + _c._fuir.clazzAsString(cl) +
+                                             " is identical to " + _c._names.function(n, pre)));
+      }
+    return CStmnt.seq(l);
+  }
+
+}
+
+/* end of file */
@@ -513,6 +513,19 @@ public class CNames extends ANY
   }
 
 
+  /**
+   * Get the name of the local variable that holds a field of the current
+   * instance in case the current instance was replaced by individual local
+   * variables for its fields.
+   *
+   * @param field the field id
+   */
+  CLocal currentField(int field)
+  {
+    return new CLocal(CURRENT._name + "_" + fieldName(field)._name);
+  }
+
+
   /**
    * The name of the thread local env variable for the given effect type.
    *
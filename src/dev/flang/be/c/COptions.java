@@ -74,13 +74,21 @@ public class COptions extends FuzionOptions
   final String _cFlags;
 
 
+  /**
+   * Are we running in a compile server?  Then, System.out and System.err are
+   * redirected to the client, so the C compiler's output must be copied to
+   * them instead of being inherited.
+   */
+  final boolean _inServer;
+
+
   /*--------------------------  constructors  ---------------------------*/
 
 
   /**
    * Constructor initializing fields as given.
    */
-  public COptions(FuzionOptions fo, String binaryName, boolean useBoehmGC, boolean Xdfa, String cCompiler, String cFlags)
+  public COptions(FuzionOptions fo, String binaryName, boolean useBoehmGC, boolean Xdfa, String cCompiler, String cFlags, boolean inServer)
   {
     super(fo);
 
@@ -89,6 +97,7 @@ public class COptions extends FuzionOptions
     _Xdfa = Xdfa;
     _cCompiler = cCompiler;
     _cFlags = cFlags;
+    _inServer = inServer;
   }
 
 
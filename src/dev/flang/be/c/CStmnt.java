@@ -332,6 +332,31 @@ abstract class CStmnt extends ANY
   }
 
 
+  /**
+   * A preprocessor macro definition such as '#define name value'
+   *
+   * @param name the name of the macro
+   *
+   * @param value the replacement text
+   *
+   * @return corresponding CStmnt
+   */
+  static CStmnt define(String name, String value)
+  {
+    return new CStmnt()
+      {
+        void code(CString sb)
+        {
+          sb.append("#define ").append(name).append(" ").append(value).append("\n");
+        }
+        boolean needsSemi()
+        {
+          return false;
+        }
+      };
+  }
+
+
   /**
    * A sequence of C statements, separated by semicolons.
    *
@@ -98,6 +98,28 @@ public class CTypes extends ANY
   }
 
 
+  /**
+   * The C type of the tag of a choice clazz.  This is the smallest unsigned
+   * integer type that can hold all tag values, such that a choice of only
+   * unit types like 'bool' needs just one byte and the tag of a choice like
+   * 'option u8' does not need more space than its value.
+   *
+   * @param cl a choice clazz that has a tag.
+   */
+  String choiceTag(int cl)
+  {
+    if (PRECONDITIONS) require
+      (_fuir.clazzIsChoice(cl),
+       _fuir.clazzChoiceTag(cl) != -1);
+
+    var n = _fuir.clazzNumChoices(cl);
+    return
+      n <= 1 <<  8 ? "uint8_t"  :
+      n <= 1 << 16 ? "uint16_t"
+                   : "uint32_t";
+  }
+
+
   /**
    * Create declarations of the C types required for the given clazz.
    *
@@ -286,7 +308,7 @@ public class CTypes extends ANY
             var ct = _fuir.clazzChoiceTag(cl);
             if (ct != -1)
               {
-                els.add(CStmnt.decl(clazzField(ct), _names.TAG_NAME));
+                els.add(CStmnt.decl(choiceTag(cl), _names.TAG_NAME));
               }
             var uls = new List<CStmnt>();
             for (int i = 0; i < _fuir.clazzNumChoices(cl); i++)
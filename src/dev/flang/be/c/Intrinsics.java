@@ -63,6 +63,8 @@ public class Intrinsics extends ANY
   static CIdent A0 = new CIdent("arg0");
   static CIdent A1 = new CIdent("arg1");
   static CIdent A2 = new CIdent("arg2");
+  static CIdent A3 = new CIdent("arg3");
+  static CIdent A4 = new CIdent("arg4");
 
   /**
    * Predefined identifier to access errno macro.
@@ -98,13 +100,17 @@ public class Intrinsics extends ANY
         "fuzion.sys.err.write" , (c,cl,outer,in) ->
         {
           // How do I print a non-null-terminated strings: https://stackoverflow.com/a/25111267
-          return CExpr.call("fwrite",
-                              new List<>(
-                                A0.castTo("void *"),
-                                CExpr.sizeOfType("char"),
-                                A1,
-                                outOrErr(in)
-                              ));
+          var write = CExpr.call("fwrite",
+                                 new List<>(
+                                   A0.castTo("void *"),
+                                   CExpr.sizeOfType("char"),
+                                   A1,
+                                   outOrErr(in)
+                                 ));
+          // stdout is buffered, so flush it before writing to stderr to keep the order of the output
+          return in.equals("fuzion.sys.err.write")
+            ? CStmnt.seq(CExpr.call("fflush", new List<>(CExpr.ident("stdout"))), write)
+            : write;
         });
     put("fuzion.sys.fileio.read"         , (c,cl,outer,in) ->
         {
@@ -316,6 +322,16 @@ public class Intrinsics extends ANY
             );
         }
         );
+    put("fuzion.sys.fileio.mmap"   , (c,cl,outer,in) ->
+        {
+          return CExpr.call("fzE_mmap", new List<>(A0.castTo("FILE *"), A1.castTo("off_t"), A2.castTo("size_t"), A3.castTo("int *"))).ret();
+        }
+        );
+    put("fuzion.sys.fileio.munmap"   , (c,cl,outer,in) ->
+        {
+          return CExpr.call("fzE_munmap", new List<>(A0, A1.castTo("size_t"))).castTo("fzT_1i32").ret();
+        }
+        );
     put("fuzion.sys.out.flush"      ,
         "fuzion.sys.err.flush"      , (c,cl,outer,in) -> CExpr.call("fflush", new List<>(outOrErr(in))));
     put("fuzion.sys.stdin.next_byte", (c,cl,outer,in) ->
@@ -334,6 +350,19 @@ public class Intrinsics extends ANY
             cIdent.castTo("fzT_1i32").ret()
           );
         });
+    put("fuzion.sys.stdin.read", (c,cl,outer,in) ->
+        {
+          var nIdent = new CIdent("n");
+          // use read instead of fread, which would wait until n bytes are
+          // available.  Since read bypasses stdio, flush stdout first such
+          // that, e.g., a prompt is visible.
+          return CStmnt.seq(
+            CExpr.call("fflush", new List<>(CExpr.ident("stdout"))),
+            CExpr.decl("ssize_t", nIdent, CExpr.call("read", new List<>(CExpr.call("fileno", new List<>(CExpr.ident("stdin"))), A0, A1))),
+            CExpr.iff(nIdent.lt(CExpr.int32const(0)), CExpr.int32const(-1).ret()),
+            nIdent.castTo("fzT_1i32").ret()
+          );
+        });
 
         /* NYI: The C standard does not guarantee wrap-around semantics for signed types, need
          * to check if this is the case for the C compilers used for Fuzion.
@@ -602,6 +631,30 @@ public class Intrinsics extends ANY
             ? A0.castTo(c._types.clazz(gc) + "*").index(A1).ret()
             : CStmnt.EMPTY;
         });
+    put("fuzion.sys.internal_array.copy", (c,cl,outer,in) ->
+        {
+          var gc = c._fuir.clazzActualGeneric(cl, 0);
+          var t = c._types.clazz(gc);
+          return c._fuir.hasData(gc)
+            ? CExpr.call("memmove", new List<>(A2.castTo(t + "*").add(A3),
+                                               A0.castTo(t + "*").add(A1),
+                                               CExpr.sizeOfType(t).mul(A4)))
+            : CStmnt.EMPTY;
+        });
+    put("fuzion.sys.internal_array.compare_and_set0", (c,cl,outer,in) ->
+        {
+          var expected = new CIdent("expected");
+          return CStmnt.seq(CStmnt.decl("fzT_1i32", expected, A2),
+                            CStmnt.iff(CExpr.call("__atomic_compare_exchange_n",
+                                                  new List<>(A0.castTo("fzT_1i32*").add(A1),
+                                                             expected.adrOf(),
+                                                             A3,
+                                                             CExpr.int32const(0),
+                                                             new CIdent("__ATOMIC_SEQ_CST"),
+                                                             new CIdent("__ATOMIC_SEQ_CST"))),
+                                       c._names.FZ_TRUE.ret()),
+                            c._names.FZ_FALSE.ret());
+        });
     put("fuzion.sys.env_vars.has0", (c,cl,outer,in) ->
         {
           return CStmnt.seq(CStmnt.iff(CExpr.call("getenv",new List<>(A0.castTo("char*"))).ne(CNames.NULL),
@@ -676,14 +729,24 @@ public class Intrinsics extends ANY
                                                                                    arg))),
                                 CExpr.iff(res.ne(CExpr.int32const(0)),
                                           CStmnt.seq(CExpr.fprintfstderr("*** pthread_create failed with return code %d\n",res),
-                                                     CExpr.call("exit", new List<>(CExpr.int32const(1))))));
-              // NYI: free(pt)!
+                                                     CExpr.call("exit", new List<>(CExpr.int32const(1))))),
+                                // the id of the thread is the address of pt, pt is freed by join0
+                                pt.castTo("fzT_1i64").ret());
             }
           else
             {
-              return CStmnt.EMPTY;
+              return CExpr.int64const(0).ret();
             }
         });
+     put("fuzion.sys.thread.join0", (c,cl,outer,in) ->
+        {
+          var pt = A0.castTo("pthread_t *");
+          return CExpr.iff(A0.ne(CExpr.int64const(0)),
+                           CStmnt.seq(CExpr.call("pthread_join", new List<>(pt.deref(), CNames.NULL)),
+                                      CExpr.call(c.free(), new List<>(pt))));
+        });
+     put("fuzion.sys.thread.processors", (c,cl,outer,in) ->
+         CExpr.call("sysconf", new List<>(new CIdent("_SC_NPROCESSORS_ONLN"))).castTo("fzT_1i32").ret());
     put("fuzion.std.nano_time", (c,cl,outer,in) ->
         {
           var result = new CIdent("result");
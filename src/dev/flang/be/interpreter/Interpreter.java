@@ -185,6 +185,7 @@ public class Interpreter extends ANY
     Intrinsics.ENABLE_UNSAFE_INTRINSICS = options.enableUnsafeIntrinsics();  // NYI: Add to Fuzion IR or BE Config
     _options_ = options;
     _fuir = fuir;
+    _cachedConsts_.clear();
     Errors.showAndExit();
     Clazzes.showStatistics();
   }
@@ -222,6 +223,7 @@ public class Interpreter extends ANY
         ArrayList<Value> mainargs = new ArrayList<>();
         mainargs.add(Instance.universe); // outer instance
         // mainargs.add(null); // NYI: args
+        Intrinsics.bufferStdout();
         try
           {
             callable(false, _fuir.main(), Clazzes.universe.get()).call(mainargs);
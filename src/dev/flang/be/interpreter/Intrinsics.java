@@ -35,9 +35,15 @@ import dev.flang.ast.Types; // NYI: remove dependency! Use dev.flang.fuir instea
 import dev.flang.util.ANY;
 import dev.flang.util.Errors;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Array;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -100,6 +106,13 @@ public class Intrinsics extends ANY
 
   static TreeMap<String, IntrinsicCode> _intrinsics_ = new TreeMap<>();
 
+
+  /**
+   * VarHandle used for atomic access to elements of an internal_array i32.
+   */
+  private static final VarHandle INT_ARRAY_ELEMENT = MethodHandles.arrayElementVarHandle(int[].class);
+
+
   /**
    * This contains all open files/streams.
    */
@@ -120,6 +133,18 @@ public class Intrinsics extends ANY
   };
 
 
+  /**
+   * This contains all started threads that have not finished yet.
+   */
+  private static OpenResources<Thread> _startedThreads_ = new OpenResources<Thread>()
+  {
+    @Override
+    protected boolean close(Thread t) {
+      return true;
+    }
+  };
+
+
   /*----------------------------  variables  ----------------------------*/
 
 
@@ -132,9 +157,57 @@ public class Intrinsics extends ANY
   private static long _last_unique_id_ = 0;
 
 
+  /**
+   * Has bufferStdout() been called?
+   */
+  private static boolean _stdoutBuffered_ = false;
+
+
   /*-------------------------  static methods  --------------------------*/
 
 
+  /**
+   * Replace System.out by a stream with a 64k buffer such that
+   * `fuzion.sys.out.write` does not make one system call for every write.
+   *
+   * All output to stdout, including output of the interpreter itself and of
+   * Java code called via the Java interface, goes through System.out, so it
+   * is written in order.  System.out is flushed by `fuzion.sys.out.flush`,
+   * before stdin is read, on exit and before anything is written to
+   * System.err, which is replaced by a stream that does this.  So, e.g.,
+   * error messages and panics appear after all output written before.
+   */
+  static synchronized void bufferStdout()
+  {
+    if (!_stdoutBuffered_)
+      {
+        _stdoutBuffered_ = true;
+        var out = new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false);
+        var err = System.err;
+        System.setOut(out);
+        System.setErr(new PrintStream(new OutputStream()
+          {
+            public void write(int b)
+            {
+              out.flush();
+              err.write(b);
+            }
+            public void write(byte[] b, int off, int len)
+            {
+              out.flush();
+              err.write(b, off, len);
+            }
+            public void flush()
+            {
+              out.flush();
+              err.flush();
+            }
+          }, true));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> out.flush()));
+      }
+  }
+
+
   private static void put(String n, IntrinsicCode c) { _intrinsics_.put(n, c); }
   private static void put(String n1, String n2, IntrinsicCode c) { put(n1, c); put(n2, c); }
   private static void put(String n1, String n2, String n3, IntrinsicCode c) { put(n1, c); put(n2, c); put(n3, c); }
@@ -215,10 +288,9 @@ public class Intrinsics extends ANY
         });
     put("fuzion.sys.out.write", (interpreter, innerClazz) ->
         {
-          var s = System.out;
           return args ->
             {
-              s.writeBytes((byte[])args.get(1).arrayData()._array);
+              System.out.write((byte[])args.get(1).arrayData()._array, 0, args.get(2).i32Value());
               return Value.EMPTY_VALUE;
             };
         });
@@ -231,15 +303,16 @@ public class Intrinsics extends ANY
           var byteArr = (byte[])args.get(2).arrayData()._array;
           try
             {
-              int bytesRead = _openStreams_.get(args.get(1).i64Value()).read(byteArr);
-
-              if (args.get(3).i32Value() != bytesRead)
+              var f = _openStreams_.get(args.get(1).i64Value());
+              var len = args.get(3).i32Value();
+              // RandomAccessFile.read may return fewer bytes than requested,
+              // so read until len bytes were read or the end of file was reached:
+              int bytesRead = 0;
+              int n = 0;
+              while (bytesRead < len && n >= 0)
                 {
-                  if (bytesRead == -1)
-                    {
-                      // no more data to read due to end of file
-                      return new i64Value(0);
-                    }
+                  n = f.read(byteArr, bytesRead, len - bytesRead);
+                  bytesRead = bytesRead + Math.max(0, n);
                 }
 
               return new i64Value(bytesRead);
@@ -427,6 +500,45 @@ public class Intrinsics extends ANY
               return Value.EMPTY_VALUE;
             }
         });
+    put("fuzion.sys.fileio.mmap", (interpreter, innerClazz) -> args ->
+        {
+          if (!ENABLE_UNSAFE_INTRINSICS)
+            {
+              Errors.fatal("*** error: unsafe feature "+innerClazz+" disabled");
+            }
+          var res = (int[])args.get(4).arrayData()._array;
+          try
+            {
+              // NYI: The interpreter represents arrays of u8 as byte[], so the
+              // mapped bytes are copied.
+              var offset = args.get(2).i64Value();
+              var b = new byte[(int) args.get(3).i64Value()];
+              var ch = _openStreams_.get(args.get(1).i64Value()).getChannel();
+              if (offset + b.length > ch.size())
+                {
+                  // same as the C backend, do not map past the end of the file
+                  res[0] = -1;
+                  return new ArrayData(new byte[0]);
+                }
+              ch.map(FileChannel.MapMode.READ_ONLY, offset, b.length)
+                .get(b);
+              res[0] = 0;
+              return new ArrayData(b);
+            }
+          catch (Exception e)
+            {
+              res[0] = -1;
+              return new ArrayData(new byte[0]);
+            }
+        });
+    put("fuzion.sys.fileio.munmap", (interpreter, innerClazz) -> args ->
+        {
+          if (!ENABLE_UNSAFE_INTRINSICS)
+            {
+              Errors.fatal("*** error: unsafe feature "+innerClazz+" disabled");
+            }
+          return new i32Value(0);
+        });
     put("fuzion.sys.fileio.file_position", (interpreter, innerClazz) -> args ->
         {
           if (!ENABLE_UNSAFE_INTRINSICS)
@@ -449,10 +561,9 @@ public class Intrinsics extends ANY
         });
     put("fuzion.sys.err.write", (interpreter, innerClazz) ->
         {
-          var s = System.err;
           return args ->
             {
-              s.writeBytes((byte[])args.get(1).arrayData()._array);
+              System.err.write((byte[])args.get(1).arrayData()._array, 0, args.get(2).i32Value());
               return Value.EMPTY_VALUE;
             };
         });
@@ -460,6 +571,7 @@ public class Intrinsics extends ANY
         {
           try
             {
+              System.out.flush();
               var nextByte = System.in.readNBytes(1);
               return nextByte.length == 0 ? new i32Value(-1) : new i32Value(Byte.toUnsignedInt(nextByte[0]));
             }
@@ -468,21 +580,29 @@ public class Intrinsics extends ANY
                 return new i32Value(-2);
               }
         });
-    put("fuzion.sys.out.flush", (interpreter, innerClazz) ->
+    put("fuzion.sys.stdin.read", (interpreter, innerClazz) -> args ->
         {
-          var s = System.out;
-          return args ->
+          try
             {
-              s.flush();
-              return Value.EMPTY_VALUE;
-            };
+              System.out.flush();
+              var n = System.in.read((byte[])args.get(1).arrayData()._array, 0, args.get(2).i32Value());
+              return new i32Value(Math.max(0, n));
+            }
+          catch (IOException e)
+            {
+              return new i32Value(-1);
+            }
+        });
+    put("fuzion.sys.out.flush", (interpreter, innerClazz) -> args ->
+        {
+          System.out.flush();
+          return Value.EMPTY_VALUE;
         });
     put("fuzion.sys.err.flush", (interpreter, innerClazz) ->
         {
-          var s = System.err;
           return args ->
             {
-              s.flush();
+              System.err.flush();
               return Value.EMPTY_VALUE;
             };
         });
@@ -716,6 +836,22 @@ public class Intrinsics extends ANY
                               /* type  */ innerClazz._outer);
           return Value.EMPTY_VALUE;
         });
+    put("fuzion.sys.internal_array.copy", (interpreter, innerClazz) -> args ->
+        {
+          System.arraycopy(/* source      */ ((ArrayData)args.get(1))._array,
+                           /* source pos  */ args.get(2).i32Value(),
+                           /* target      */ ((ArrayData)args.get(3))._array,
+                           /* target pos  */ args.get(4).i32Value(),
+                           /* count       */ args.get(5).i32Value());
+          return Value.EMPTY_VALUE;
+        });
+    put("fuzion.sys.internal_array.compare_and_set0", (interpreter, innerClazz) -> args ->
+        {
+          return new boolValue(INT_ARRAY_ELEMENT.compareAndSet(/* data     */ (int[]) ((ArrayData)args.get(1))._array,
+                                                               /* index    */ args.get(2).i32Value(),
+                                                               /* expected */ args.get(3).i32Value(),
+                                                               /* new      */ args.get(4).i32Value()));
+        });
     put("fuzion.sys.env_vars.has0", (interpreter, innerClazz) -> args -> new boolValue(System.getenv(utf8ByteArrayDataToString(args.get(1))) != null));
     put("fuzion.sys.env_vars.get0", (interpreter, innerClazz) -> args -> Interpreter.value(System.getenv(utf8ByteArrayDataToString(args.get(1)))));
     // setting env variable not supported in java
@@ -730,11 +866,49 @@ public class Intrinsics extends ANY
           var ic = oc.lookup(call);
           var al = new ArrayList<Value>();
           al.add(args.get(1));
-          var t = new Thread(() -> interpreter.callOnInstance(ic.feature(), ic, new Instance(ic), al));
+          var id = new long[1];
+          var t = new Thread(() ->
+            {
+              try
+                {
+                  interpreter.callOnInstance(ic.feature(), ic, new Instance(ic), al);
+                }
+              finally
+                {
+                  // threads that are never joined must not stay in
+                  // _startedThreads_, so every thread removes itself.
+                  synchronized (_startedThreads_)
+                    {
+                      _startedThreads_.remove(id[0]);
+                    }
+                }
+            });
           t.setDaemon(true);
+          id[0] = _startedThreads_.add(t);
           t.start();
+          return new i64Value(id[0]);
+        });
+    put("fuzion.sys.thread.join0", (interpreter, innerClazz) -> args ->
+        {
+          Thread t;
+          synchronized (_startedThreads_)
+            { // t is null if the thread has already finished
+              t = _startedThreads_.get(args.get(1).i64Value());
+            }
+          if (t != null)
+            {
+              try
+                {
+                  t.join();
+                }
+              catch (InterruptedException ie)
+                {
+                  throw new Error("unexpected interrupt", ie);
+                }
+            }
           return new Instance(Clazzes.c_unit.get());
         });
+    put("fuzion.sys.thread.processors", (interpreter, innerClazz) -> args -> new i32Value(Runtime.getRuntime().availableProcessors()));
     put("safety"                , (interpreter, innerClazz) -> args -> new boolValue(Interpreter._options_.fuzionSafety()));
     put("debug"                 , (interpreter, innerClazz) -> args -> new boolValue(Interpreter._options_.fuzionDebug()));
     put("debugLevel"            , (interpreter, innerClazz) -> args -> new i32Value(Interpreter._options_.fuzionDebugLevel()));
@@ -100,7 +100,7 @@ public class LibraryFeature extends AbstractFeature
   /**
    * cached result of kind()
    */
-  private final Kind _kind;
+  private Kind _kind;
 
 
   /**
@@ -166,7 +166,8 @@ public class LibraryFeature extends AbstractFeature
 
 
   /**
-   * Create LibraryFeature
+   * Create LibraryFeature.  This is a thin handle for the feature at the given
+   * index, all data is read from lib on demand.
    *
    * @param lib the module this was defined in
    *
@@ -176,7 +177,6 @@ public class LibraryFeature extends AbstractFeature
   {
     _libModule = lib;
     _index = index;
-    _kind = lib.featureKindEnum(index);
   }
 
 
@@ -199,7 +199,13 @@ public class LibraryFeature extends AbstractFeature
    */
   public Kind kind()
   {
-    return _kind;
+    var result = _kind;
+    if (result == null)
+      {
+        result = _libModule.featureKindEnum(_index);
+        _kind = result;
+      }
+    return result;
   }
 
   /**
@@ -399,20 +405,16 @@ public class LibraryFeature extends AbstractFeature
   public AbstractFeature get(String name)
   {
     AbstractFeature result = null;
-    var i = innerFeatures();
+    var i = _libModule.innerFeatures(_libModule.featureInnerFeaturesPos(_index), name);
     for (var r : i)
       {
-        var rn = r.featureName();
-        if (rn.baseName().equals(name))
+        if (result == null)
           {
-            if (result == null)
-              {
-                result = r;
-              }
-            else
-              {
-                Errors.fatal("Ambiguous inner feature '" + name + "': found '" + result.featureName() + "' and '" + r.featureName() + "'.");
-              }
+            result = r;
+          }
+        else
+          {
+            Errors.fatal("Ambiguous inner feature '" + name + "': found '" + result.featureName() + "' and '" + r.featureName() + "'.");
           }
       }
     if (result == null)
@@ -297,6 +297,29 @@ public class LibraryModule extends Module
   }
 
 
+  /**
+   * Get declared features with given base name for given outer Feature as seen
+   * by this module.  This uses the name index, so other inner features of
+   * outer are not created.
+   *
+   * @param outer the declaring feature
+   *
+   * @param baseName the base name of the features.
+   */
+  public SortedMap<FeatureName, AbstractFeature>declaredFeatures(AbstractFeature outer, String baseName)
+  {
+    var result = new TreeMap<FeatureName, AbstractFeature>();
+    var l = (outer instanceof LibraryFeature lf && lf._libModule == this)
+      ? innerFeatures(featureInnerFeaturesPos(lf._index), baseName) // the declared features are declared in this module
+      : features(outer, baseName);                                  // the declared features are declared in another module
+    for (var d : l)
+      {
+        result.put(d.featureName(), d);  // NYI: handle equally named features from different modules
+      }
+    return result;
+  }
+
+
   /**
    * Get or create LibraryFeature at given offset
    *
@@ -354,6 +377,38 @@ public class LibraryModule extends Module
    * module.
    */
   List<AbstractFeature> features(AbstractFeature outer)
+  {
+    var at = innerFeaturesPosOf(outer);
+    return at < 0 ? new List<>() : innerFeatures(at);
+  }
+
+
+  /**
+   * The features with given base name declared within outer by this module
+   *
+   * @param outer an outer feature
+   *
+   * @param baseName the base name of the features
+   *
+   * @return list of inner features of outer with given base name that are
+   * declared by this library module.
+   */
+  List<AbstractFeature> features(AbstractFeature outer, String baseName)
+  {
+    var at = innerFeaturesPosOf(outer);
+    return at < 0 ? new List<>() : innerFeatures(at, baseName);
+  }
+
+
+  /**
+   * Find the InnerFeatures block of the DeclFeatures for given outer feature.
+   *
+   * @param outer an outer feature
+   *
+   * @return the index of the InnerFeatures block, -1 if this module does not
+   * declare features within outer.
+   */
+  private int innerFeaturesPosOf(AbstractFeature outer)
   {
     var n = moduleNumDeclFeatures();
     var at = moduleDeclFeaturesPos();
@@ -361,11 +416,11 @@ public class LibraryModule extends Module
       {
         if (feature(declFeaturesOuter(at)) == outer)
           {
-            return innerFeatures(declFeaturesInnerPos(at));
+            return declFeaturesInnerPos(at);
           }
         at = declFeaturesNextPos(at);
       }
-    return new List<>();
+    return -1;
   }
 
 
@@ -392,6 +447,40 @@ public class LibraryModule extends Module
   }
 
 
+  /**
+   * The features declared at given InnerFeatures block with the given base
+   * name.  This uses the name index, so no other features are created.
+   *
+   * @param at the index of an InnerFeatures block.
+   *
+   * @param baseName the base name of the features to find
+   *
+   * @return the features with that base name, may be empty.
+   */
+  List<AbstractFeature> innerFeatures(int at, String baseName)
+  {
+    var result = new List<AbstractFeature>();
+    var n = innerFeaturesIndexSize(at);
+    if (n > 0)
+      {
+        var b = baseName.getBytes(StandardCharsets.UTF_8);
+        var ip = innerFeaturesIndexPos(at);
+        var s = nameIndexSlot(b, n);
+        var o = _data.getInt(ip + 4 * s);
+        while (o != 0)
+          {
+            if (featureNameEquals(o, b))
+              {
+                result.add(libraryFeature(o));
+              }
+            s = (s + 1) & (n - 1);
+            o = _data.getInt(ip + 4 * s);
+          }
+      }
+    return result;
+  }
+
+
   /**
    * Find the Generic instance defined at offset in this file.
    *
@@ -748,9 +837,13 @@ InnerFeatures
 |====
    |cond.     | repeat | type          | what
 
-.2+| true     | 1      | int           | sizeof(inner Features)
+.4+| true     | 1      | int           | sizeof(inner Features)
 
    |          | 1      | Features      | inner Features
+
+   |          | 1      | int           | name index size n, 0 or a power of 2
+
+   |          | n      | int           | name index: feature offset or 0 if empty
 |====
 
 Features
@@ -773,6 +866,10 @@ Features
    *   | true   | 1      | int           | sizeof(inner Features)                        |
    *   +        +--------+---------------+-----------------------------------------------+
    *   |        | 1      | Features      | inner Features                                |
+   *   |        +--------+---------------+-----------------------------------------------+
+   *   |        | 1      | int           | name index size n, 0 or a power of 2          |
+   *   |        +--------+---------------+-----------------------------------------------+
+   *   |        | n      | int           | name index: feature offset or 0 if empty      |
    *   +--------+--------+---------------+-----------------------------------------------+
    *
    *   +---------------------------------------------------------------------------------+
@@ -797,10 +894,37 @@ Features
   {
     return at + 4;
   }
-  int innerFeaturesNextPos(int at)
+  int innerFeaturesIndexSizePos(int at)
   {
     return innerFeaturesFeaturesPos(at) + innerFeaturesSize(at);
   }
+  int innerFeaturesIndexSize(int at)
+  {
+    return data().getInt(innerFeaturesIndexSizePos(at));
+  }
+  int innerFeaturesIndexPos(int at)
+  {
+    return innerFeaturesIndexSizePos(at) + 4;
+  }
+  int innerFeaturesNextPos(int at)
+  {
+    return innerFeaturesIndexPos(at) + 4 * innerFeaturesIndexSize(at);
+  }
+
+
+  /**
+   * The initial slot in a name index with n entries for a feature with the
+   * given UTF-8 encoded base name.  Collisions are resolved by linear probing.
+   *
+   * @param name the base name of a feature, UTF-8 encoded.
+   *
+   * @param n the size of the name index, a power of 2.
+   */
+  static int nameIndexSlot(byte[] name, int n)
+  {
+    var h = Arrays.hashCode(name);
+    return (h ^ (h >>> 16)) & (n - 1);
+  }
 
 
   /*
@@ -963,6 +1087,18 @@ Feature
       }
     return b;
   }
+  boolean featureNameEquals(int at, byte[] name)
+  {
+    var i = featureNamePos(at);
+    var d = data();
+    var result = d.getInt(i) == name.length;
+    i = i + 4;
+    for (var j = 0; result && j < name.length; j++)
+      {
+        result = d.get(i + j) == name[j];
+      }
+    return result;
+  }
   int featureArgCountPos(int at)
   {
     var i = featureNamePos(at);
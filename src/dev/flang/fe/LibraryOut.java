@@ -27,6 +27,7 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 package dev.flang.fe;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import java.util.TreeSet;
 import java.util.TreeMap;
@@ -295,10 +296,18 @@ class LibraryOut extends ANY
    *   | true   | 1      | int           | sizeof(inner Features) == size                |
    *   +        +--------+---------------+-----------------------------------------------+
    *   |        | 1      | Features      | inner Features                                |
+   *   |        +--------+---------------+-----------------------------------------------+
+   *   |        | 1      | int           | name index size n, 0 or a power of 2          |
+   *   |        +--------+---------------+-----------------------------------------------+
+   *   |        | n      | int           | name index: feature offset or 0 if empty      |
    *   +--------+--------+---------------+-----------------------------------------------+
    *
    * The count n is not stored explicitly, the list of inner Features ends after
    * size bytes.
+   *
+   * The name index is an open addressing hash table with linear probing that
+   * maps the base name of an inner feature to the feature's offset, see
+   * LibraryModule.nameIndexSlot.  Features without a name are not entered.
    */
   void innerFeatures(AbstractFeature f)
   {
@@ -354,8 +363,45 @@ class LibraryOut extends ANY
         var innerPos = _data.offset();
 
         // write the actual data
-        features(innerFeatures);
+        var offsets = features(innerFeatures);
         _data.writeIntAt(szPos, _data.offset() - innerPos);
+        nameIndex(offsets);
+      }
+  }
+
+
+  /**
+   * Write the name index for inner features that were written at the given
+   * offsets.
+   *
+   * @param offsets map from the offset of a feature to the feature.
+   */
+  void nameIndex(TreeMap<Integer, Feature> offsets)
+  {
+    var named = 0;
+    for (var f : offsets.values())
+      {
+        named += libName(f).isEmpty() ? 0 : 1;
+      }
+    var n = named == 0 ? 0 : Integer.highestOneBit(2 * named - 1) << 1;
+    var slots = new int[n];
+    for (var e : offsets.entrySet())
+      {
+        var bn = libName(e.getValue());
+        if (!bn.isEmpty())
+          {
+            var s = LibraryModule.nameIndexSlot(bn.getBytes(StandardCharsets.UTF_8), n);
+            while (slots[s] != 0)
+              {
+                s = (s + 1) & (n - 1);
+              }
+            slots[s] = e.getKey();
+          }
+      }
+    _data.writeInt(n);
+    for (var o : slots)
+      {
+        _data.writeInt(o);
       }
   }
 
@@ -371,16 +417,21 @@ class LibraryOut extends ANY
    *   | true   | n      | Feature       | (inner) Features                              |
    *   +--------+--------+---------------+-----------------------------------------------+
    *
+   * @return map from the offsets of the features that were written to these
+   * features.
    */
-  void features(List<AbstractFeature> fs)
+  TreeMap<Integer, Feature> features(List<AbstractFeature> fs)
   {
+    var result = new TreeMap<Integer, Feature>();
     for (var df : fs)
       {
         if (df instanceof Feature dff)
           {
+            result.put(_data.offset(), dff);
             feature(dff);
           }
       }
+    return result;
   }
 
 
@@ -464,12 +515,7 @@ class LibraryOut extends ANY
       }
     var n = f.featureName();
     _data.writeShort(k);
-    var bn = n.baseName();
-    if (_sourceModule._options._eraseInternalNamesInLib && n.isInternal())
-      {
-        bn = "";
-      }
-    _data.writeName(bn);
+    _data.writeName(libName(f));
     _data.writeInt (n.argCount());  // NYI: use better integer encoding
     _data.writeInt (n._id);         // NYI: id /= 0 only if argCount = 0, so join these two values.
     pos(f.pos());
@@ -515,6 +561,19 @@ class LibraryOut extends ANY
   }
 
 
+  /**
+   * The base name of f as stored in the module file, "" if internal names are
+   * erased and f's name is internal.
+   *
+   * @param f a feature
+   */
+  String libName(Feature f)
+  {
+    var n = f.featureName();
+    return _sourceModule._options._eraseInternalNamesInLib && n.isInternal() ? "" : n.baseName();
+  }
+
+
   /**
    * Collect the binary data for given type.
    *
@@ -77,6 +77,13 @@ public abstract class Module extends ANY
      */
     SortedMap<FeatureName, AbstractFeature> _declaredOrInheritedFeatures;
 
+    /**
+     * For a library feature whose _declaredOrInheritedFeatures have not been
+     * determined yet: the declared or inherited features found so far, mapped
+     * from their base name.
+     */
+    Map<String, SortedMap<FeatureName, AbstractFeature>> _declaredOrInheritedByName;
+
     /**
      * All features that have been found to inherit from this feature.  This set
      * is collected during RESOLVING_DECLARATIONS.
@@ -143,6 +150,17 @@ public abstract class Module extends ANY
   public abstract SortedMap<FeatureName, AbstractFeature>declaredFeatures(AbstractFeature outer);
 
 
+  /**
+   * Get declared features with given base name for given outer Feature as seen
+   * by this module.  Result is never null.
+   *
+   * @param outer the declaring feature
+   *
+   * @param baseName the base name of the features.
+   */
+  public abstract SortedMap<FeatureName, AbstractFeature>declaredFeatures(AbstractFeature outer, String baseName);
+
+
   /**
    * Get or create the data record for given outer feature.
    *
@@ -196,6 +214,25 @@ public abstract class Module extends ANY
    * @param outer the inheriting feature
    */
   void findInheritedFeatures(SortedMap<FeatureName, AbstractFeature> set, AbstractFeature outer)
+  {
+    findInheritedFeatures(set, outer, null, this);
+  }
+
+
+  /**
+   * Find inherited features with given base name and add them to given set.
+   *
+   * @param set the set to add inherited features to
+   *
+   * @param outer the inheriting feature
+   *
+   * @param baseName the base name of the features to find, null for all.
+   *
+   * @param view the module used to look up the features of the parents of
+   * outer.  This must be the module that started the lookup such that features
+   * other modules add to the parents are found.
+   */
+  void findInheritedFeatures(SortedMap<FeatureName, AbstractFeature> set, AbstractFeature outer, String baseName, Module view)
   {
     for (var p : outer.inherits())
       {
@@ -208,7 +245,9 @@ public abstract class Module extends ANY
             data(cf)._heirs.add(outer);
             resolveDeclarations(cf);
 
-            for (var fnf : declaredOrInheritedFeatures(cf).entrySet())
+            var inherited = baseName == null ? view.declaredOrInheritedFeatures(cf)
+                                             : view.declaredOrInheritedFeatures(cf, baseName);
+            for (var fnf : inherited.entrySet())
               {
                 var fn = fnf.getKey();
                 var f = fnf.getValue();
@@ -299,38 +338,8 @@ public abstract class Module extends ANY
             loadInnerFeatures(outer);
 
             s = olf._libModule.declaredFeatures(olf);
-            olf._libModule.findInheritedFeatures(s, olf);
-            for (var e : declaredFeatures(outer).entrySet())
-              {
-                var f = e.getValue();
-                if (!(f instanceof LibraryFeature flf && flf._libModule == olf._libModule))
-                  { // f is a qualified feature that was added in a different module
-                    var fn = f.featureName();
-                    var existing = s.get(fn);
-                    // NYI: We need proper visibility handling, e.g., it might
-                    // be ok to have
-                    //
-                    // * modules 'A', 'B', 'C' where 'A' declares 'a' with a
-                    //   private feature 'a.f' and 'B' adds its own 'a.f' used
-                    //   by 'C' that depends on 'B'
-                    //
-                    // * modules 'A', 'B', 'C', 'D' where 'A' declares 'a' with
-                    //   no inner feature 'a.f', but both B and C declare
-                    //   different 'a.f' that are visible to but not used by 'D'
-                    //
-                    // * same as previous, but there is some syntax for 'D' to
-                    //   chose 'a.[B].f' or 'a.[C].f'.
-                    //
-                    if (existing != null)
-                      {
-                        AstErrors.duplicateFeatureDeclaration(f.pos(), outer, s.get(fn));
-                      }
-                    else
-                      {
-                        s.put(f.featureName(), f);
-                      }
-                  }
-              }
+            olf._libModule.findInheritedFeatures(s, olf, null, this);
+            addDeclaredByOtherModules(s, olf, declaredFeatures(outer));
           }
         else
           {
@@ -340,10 +349,103 @@ public abstract class Module extends ANY
         // _declaredOrInheritedFeatures: this place and
         // SourceModule.findDeclaredOrInheritedFeatures(). There should be only one!
         d._declaredOrInheritedFeatures = s;
+        d._declaredOrInheritedByName = null;
       }
     return s;
   }
 
+
+  /**
+   * Get declared and inherited features with given base name for given outer
+   * Feature as seen by this module.  Result is never null.
+   *
+   * If outer is a library feature whose declared or inherited features have
+   * not been determined yet, only the features with the given name are looked
+   * up in outer and, recursively, in the features it inherits from.
+   *
+   * @param outer the declaring feature
+   *
+   * @param baseName the base name of the features.
+   */
+  public SortedMap<FeatureName, AbstractFeature> declaredOrInheritedFeatures(AbstractFeature outer, String baseName)
+  {
+    var d = data(outer);
+    if (d._declaredOrInheritedFeatures != null || !(outer instanceof LibraryFeature olf))
+      {
+        return FeatureName.getAll(declaredOrInheritedFeatures(outer), baseName);
+      }
+    else
+      {
+        var c = d._declaredOrInheritedByName;
+        if (c == null)
+          {
+            c = new TreeMap<>();
+            d._declaredOrInheritedByName = c;
+          }
+        var s = c.get(baseName);
+        if (s == null)
+          {
+            // NYI: cleanup: See #462: Remove once sub-directories are loaded
+            // directly, not implicitly when outer feature is found
+            loadInnerFeatures(outer);
+
+            s = olf._libModule.declaredFeatures(olf, baseName);
+            olf._libModule.findInheritedFeatures(s, olf, baseName, this);
+            addDeclaredByOtherModules(s, olf, declaredFeatures(outer, baseName));
+            c.put(baseName, s);
+          }
+        return s;
+      }
+  }
+
+
+  /**
+   * Helper for declaredOrInheritedFeatures to add features declared in outer
+   * by modules other than outer's module.
+   *
+   * @param s the declared or inherited features of outer found so far.
+   *
+   * @param olf the outer feature
+   *
+   * @param declared the declared features of outer as seen by this module.
+   */
+  private void addDeclaredByOtherModules(SortedMap<FeatureName, AbstractFeature> s,
+                                         LibraryFeature olf,
+                                         SortedMap<FeatureName, AbstractFeature> declared)
+  {
+    for (var e : declared.entrySet())
+      {
+        var f = e.getValue();
+        if (!(f instanceof LibraryFeature flf && flf._libModule == olf._libModule))
+          { // f is a qualified feature that was added in a different module
+            var fn = f.featureName();
+            var existing = s.get(fn);
+            // NYI: We need proper visibility handling, e.g., it might
+            // be ok to have
+            //
+            // * modules 'A', 'B', 'C' where 'A' declares 'a' with a
+            //   private feature 'a.f' and 'B' adds its own 'a.f' used
+            //   by 'C' that depends on 'B'
+            //
+            // * modules 'A', 'B', 'C', 'D' where 'A' declares 'a' with
+            //   no inner feature 'a.f', but both B and C declare
+            //   different 'a.f' that are visible to but not used by 'D'
+            //
+            // * same as previous, but there is some syntax for 'D' to
+            //   chose 'a.[B].f' or 'a.[C].f'.
+            //
+            if (existing != null)
+              {
+                AstErrors.duplicateFeatureDeclaration(f.pos(), olf, s.get(fn));
+              }
+            else
+              {
+                s.put(f.featureName(), f);
+              }
+          }
+      }
+  }
+
 }
 
 /* end of file */
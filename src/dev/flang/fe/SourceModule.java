@@ -657,6 +657,7 @@ public class SourceModule extends Module implements SrcModule, MirModule
           (!d._declaredOrInheritedFeatures.containsKey(fn) || d._declaredOrInheritedFeatures.get(fn) == inner);
         d._declaredOrInheritedFeatures.put(fn, inner);
       }
+    d._declaredOrInheritedByName = null;
   }
 
 
@@ -702,6 +703,42 @@ public class SourceModule extends Module implements SrcModule, MirModule
   }
 
 
+  /**
+   * Get declared features with given base name for given outer Feature as seen
+   * by this module.  If the declared features of a library feature outer have
+   * not been loaded yet, this uses the name index of the library modules.
+   *
+   * @param outer the declaring feature
+   *
+   * @param baseName the base name of the features.
+   */
+  public SortedMap<FeatureName, AbstractFeature>declaredFeatures(AbstractFeature outer, String baseName)
+  {
+    SortedMap<FeatureName, AbstractFeature> result;
+    var d = data(outer);
+    if (d._declaredFeatures != null || !(outer instanceof LibraryFeature))
+      {
+        result = FeatureName.getAll(declaredFeatures(outer), baseName);
+      }
+    else
+      {
+        result = new TreeMap<>();
+        for (var m : _dependsOn)
+          {
+            result.putAll(m.declaredFeatures(outer, baseName));
+          }
+
+        // NYI: cleanup: See #462: Remove once sub-directories are loaded
+        // directly, not implicitly when outer feature is found
+        for (var inner : result.values())
+          {
+            loadInnerFeatures(inner);
+          }
+      }
+    return result;
+  }
+
+
   /**
    * During phase RESOLVING_DECLARATIONS, determine the set of declared or
    * inherited features for outer.
@@ -900,6 +937,7 @@ public class SourceModule extends Module implements SrcModule, MirModule
           {
             var pos = SourcePosition.builtIn; // NYI: Would be nicer to use Call.pos for the inheritance call in h.inherits
             addInheritedFeature(data(outer)._declaredOrInheritedFeatures, h, pos, fn, f);
+            data(h)._declaredOrInheritedByName = null;
             addToHeirs(h, fn, f);
           }
       }
@@ -996,7 +1034,7 @@ public class SourceModule extends Module implements SrcModule, MirModule
     do
       {
         var foundFieldInThisScope = foundFieldInScope;
-        var fs = FeatureName.getAll(declaredOrInheritedFeatures(curOuter), name);
+        var fs = declaredOrInheritedFeatures(curOuter, name);
         if (fs.size() >= 1 && use != null && traverseOuter)
           { // try to disambiguate fields as in
             //
@@ -94,13 +94,6 @@ public class FUIR extends IR
   }
 
 
-  /**
-   * Map used by getSpecialId() to quickly find the SpecialClazz corresponding
-   * to a Clazz.
-   */
-  private static TreeMap<Clazz, SpecialClazzes> SPECIAL_ID = new TreeMap<>();
-
-
   /**
    * Enum of clazzes that require special handling in the backend
    */
@@ -126,15 +119,6 @@ public class FUIR extends IR
     c_NOT_FOUND   { Clazz getIfCreated() { return null;                               } };
 
     abstract Clazz getIfCreated();
-
-    SpecialClazzes()
-    {
-      var c = getIfCreated();
-      if (c != null)
-        {
-          SPECIAL_ID.put(c, this);
-        }
-    }
   }
 
 
@@ -181,6 +165,15 @@ public class FUIR extends IR
   BitSet _doesNotNeedCode = new BitSet();
 
 
+  /**
+   * Map used by getSpecialId() to quickly find the SpecialClazz corresponding
+   * to a Clazz.  Created lazily on the first call to getSpecialId() since the
+   * special clazzes are created on demand.  This is per FUIR instance since
+   * Clazzes are reset for every compilation.
+   */
+  private TreeMap<Clazz, SpecialClazzes> _specialId;
+
+
   /*--------------------------  constructors  ---------------------------*/
 
 
@@ -212,6 +205,7 @@ public class FUIR extends IR
     _clazzIds = original._clazzIds;
     _clazzCode = original._clazzCode;
     _clazzContract = original._clazzContract;
+    _specialId = original._specialId;
   }
 
 
@@ -762,8 +756,20 @@ public class FUIR extends IR
    */
   public SpecialClazzes getSpecialId(int cl)
   {
+    if (_specialId == null)
+      {
+        _specialId = new TreeMap<>();
+        for (var s : SpecialClazzes.values())
+          {
+            var c = s.getIfCreated();
+            if (c != null)
+              {
+                _specialId.put(c, s);
+              }
+          }
+      }
     var cc = clazz(cl);
-    var result = SPECIAL_ID.get(cc);
+    var result = _specialId.get(cc);
     return result == null ? SpecialClazzes.c_NOT_FOUND : result;
   }
 
@@ -50,6 +50,17 @@ public class Escape extends ANY
   /*-----------------------------  classes  -----------------------------*/
 
 
+  /**
+   * What is known about a value on the stack in isCurOnlyUsedForFieldAccess().
+   */
+  private enum Val
+  {
+    CURRENT,           // the current instance
+    FIELD_OF_CURRENT,  // a value read from a field of the current instance
+    OTHER,             // any other value
+  }
+
+
   /*----------------------------  constants  ----------------------------*/
 
 
@@ -81,6 +92,12 @@ public class Escape extends ANY
   private final TreeMap<Integer, Boolean> _doesEscapeCache = new TreeMap<>();
 
 
+  /**
+   * Cached results of isCurOnlyUsedForFieldAccess().
+   */
+  private final TreeMap<Integer, Boolean> _onlyFieldAccessCache = new TreeMap<>();
+
+
   /*---------------------------  constructors  ---------------------------*/
 
 
@@ -343,6 +360,233 @@ public class Escape extends ANY
   }
 
 
+  /**
+   * Check if on a call to clazz 'cl', the current instance ('cl.this') is used
+   * only as the target of reads and writes of its fields.  If this is the case
+   * and the current instance does not escape, there is no need to have the
+   * current instance as a whole and its fields may be kept in individual local
+   * variables instead (scalar replacement).
+   *
+   * This checks the code of cl and its postcondition, but not its
+   * precondition.
+   *
+   * @param cl a Routine
+   */
+  public boolean isCurOnlyUsedForFieldAccess(int cl)
+  {
+    if (PRECONDITIONS) require
+      (_fuir.clazzKind(cl) == IR.FeatureKind.Routine);
+
+    var result = _onlyFieldAccessCache.get(cl);
+    if (result == null)
+      {
+        result = isCurOnlyUsedForFieldAccess(cl, _fuir.clazzCode(cl));
+        for (var ci = 0; result && _fuir.clazzContract(cl, FUIR.ContractKind.Post, ci) != -1; ci++)
+          {
+            result = isCurOnlyUsedForFieldAccess(cl, _fuir.clazzContract(cl, FUIR.ContractKind.Post, ci));
+          }
+        _onlyFieldAccessCache.put(cl, result);
+      }
+    return result;
+  }
+
+
+  /**
+   * Is a value of clazz cl pushed onto the stack by AbstractInterpreter?
+   */
+  private boolean hasValue(int cl)
+  {
+    return !AbstractInterpreter.clazzHasUniqueValue(_fuir, cl);
+  }
+
+
+  /**
+   * Check if the current instance is used in given code block only as the
+   * target of reads and writes of its fields.
+   *
+   * The stack is modeled as in AbstractInterpreter, i.e., values of clazzes
+   * with a unique value are not pushed.
+   *
+   * @param cl a Routine
+   *
+   * @param c the code block to analyze.
+   *
+   * @return true iff the current instance is known to be used only for field
+   * accesses within c.
+   */
+  private boolean isCurOnlyUsedForFieldAccess(int cl, int c)
+  {
+    var stack = new Stack<Val>();
+    for (int i = 0; _fuir.withinCode(c, i); i = i + _fuir.codeSizeAt(c, i))
+      {
+        var s = _fuir.codeAt(c, i);
+        switch (s)
+          {
+          case AdrOf:
+            {
+              if (stack.pop() != Val.OTHER)  // the address of current or of a field of current would outlive the local vars
+                {
+                  return false;
+                }
+              stack.push(Val.OTHER);
+              break;
+            }
+          case Assign:
+            {
+              if (_fuir.accessedClazz(cl, c, i) != -1)  // field we are assigning to may be unused, i.e., -1
+                {
+                  var tc = _fuir.accessTargetClazz(cl, c, i);
+                  if (hasValue(tc))
+                    {
+                      stack.pop();  // writing a field of current is fine
+                    }
+                  var rt = _fuir.clazzResultClazz(_fuir.accessedClazz(cl, c, i));
+                  if (hasValue(rt) && stack.pop() == Val.CURRENT)
+                    {
+                      return false;
+                    }
+                }
+              break;
+            }
+          case Box:
+            {
+              var vc = _fuir.boxValueClazz(cl, c, i);
+              var rc = _fuir.boxResultClazz(cl, c, i);
+              if (!_fuir.clazzIsRef(vc) && _fuir.clazzIsRef(rc))
+                {
+                  if (hasValue(vc) && stack.pop() == Val.CURRENT)
+                    {
+                      return false;
+                    }
+                  if (hasValue(rc))
+                    {
+                      stack.push(Val.OTHER);
+                    }
+                }
+              break;
+            }
+          case Unbox:
+            {
+              var orc = _fuir.unboxOuterRefClazz(cl, c, i);
+              var vc  = _fuir.unboxResultClazz(cl, c, i);
+              if (_fuir.clazzIsRef(orc) && !_fuir.clazzIsRef(vc))
+                {
+                  if (hasValue(orc) && stack.pop() == Val.CURRENT)
+                    {
+                      return false;
+                    }
+                  if (hasValue(vc))
+                    {
+                      stack.push(Val.OTHER);
+                    }
+                }
+              break;
+            }
+          case Call:
+            {
+              var cc0 = _fuir.accessedClazz(cl, c, i);
+              for (var ai = _fuir.clazzArgCount(cc0); ai > 0; ai--)
+                {
+                  if (hasValue(_fuir.clazzArgClazz(cc0, ai-1)) && stack.pop() == Val.CURRENT)
+                    {
+                      return false;
+                    }
+                }
+              var tc = _fuir.accessTargetClazz(cl, c, i);
+              var t = hasValue(tc) ? stack.pop() : Val.OTHER;
+              var isField = _fuir.clazzKind(cc0) == IR.FeatureKind.Field;
+              var or = _fuir.clazzOuterRef(cc0);
+              if (!isField && (t == Val.CURRENT ||
+                               // a call on a value in a field of current may
+                               // receive the field's address as its outer ref:
+                               t == Val.FIELD_OF_CURRENT && or != -1 && _fuir.clazzFieldIsAdrOfValue(or)))
+                {
+                  return false;
+                }
+              var rt = _fuir.clazzResultClazz(cc0);
+              if (_fuir.clazzIsVoidType(rt))
+                {
+                  return true;
+                }
+              if (hasValue(rt))
+                {
+                  stack.push(isField && t == Val.CURRENT ? Val.FIELD_OF_CURRENT : Val.OTHER);
+                }
+              break;
+            }
+          case Current:
+            {
+              if (hasValue(cl))
+                {
+                  stack.push(Val.CURRENT);
+                }
+              break;
+            }
+          case Const:
+            {
+              if (hasValue(_fuir.constClazz(c, i)))
+                {
+                  stack.push(Val.OTHER);
+                }
+              break;
+            }
+          case Match:
+            {
+              if (hasValue(_fuir.matchStaticSubject(cl, c, i)) && stack.pop() == Val.CURRENT)
+                {
+                  return false;
+                }
+              for (var mc = 0; mc < _fuir.matchCaseCount(c, i); mc++)
+                {
+                  if (!isCurOnlyUsedForFieldAccess(cl, _fuir.matchCaseCode(c, i, mc)))
+                    {
+                      return false;
+                    }
+                }
+              break;
+            }
+          case Tag:
+            {
+              if (hasValue(_fuir.tagValueClazz(cl, c, i)) && stack.pop() == Val.CURRENT)
+                {
+                  return false;
+                }
+              if (hasValue(_fuir.tagNewClazz(cl, c, i)))
+                {
+                  stack.push(Val.OTHER);
+                }
+              break;
+            }
+          case Env:
+            {
+              if (hasValue(_fuir.envClazz(cl, c, i)))
+                {
+                  stack.push(Val.OTHER);
+                }
+              break;
+            }
+          case Dup:
+            {
+              var v = stack.pop();
+              stack.push(v);
+              stack.push(v);
+              break;
+            }
+          case Comment:
+          case Pop:
+            {
+              break;
+            }
+          default:
+            {
+              return false;
+            }
+          }
+      }
+    return true;
+  }
+
+
 }
 
 /* end of file */
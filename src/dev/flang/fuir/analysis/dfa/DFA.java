@@ -756,9 +756,12 @@ public class DFA extends ANY
             case Field              ->
             {
               var fc = _fuir.correspondingFieldInValueInstance(cl);
+              // fc is -1 if the value instance's field is not used at all,
+              // e.g., for the outer ref of a feature that is always ref:
               yield
-                isBuiltInNumeric(_fuir.clazzOuterClazz(fc)) ||
-                _readFields.contains(fc);
+                fc >= 0 &&
+                (isBuiltInNumeric(_fuir.clazzOuterClazz(fc)) ||
+                 _readFields.contains(fc));
             }
             case Abstract           -> true;
             case Choice             -> true;
@@ -963,9 +966,19 @@ public class DFA extends ANY
     put("fuzion.sys.fileio.lstats"       , cl -> cl._dfa._bool ); // NYI : manipulation of an array passed as argument needs to be tracked and recorded
     put("fuzion.sys.fileio.seek"         , cl -> Value.UNIT ); // NYI : manipulation of an array passed as argument needs to be tracked and recorded
     put("fuzion.sys.fileio.file_position", cl -> Value.UNIT ); // NYI : manipulation of an array passed as argument needs to be tracked and recorded
+    put("fuzion.sys.fileio.mmap"         , cl -> new SysArray(cl._dfa, new NumericValue(cl._dfa, cl._dfa._fuir.clazz_u8())) ); // NYI : manipulation of an array passed as argument needs to be tracked and recorded
+    put("fuzion.sys.fileio.munmap"       , cl -> new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc)) );
     put("fuzion.sys.out.flush"           , cl -> Value.UNIT );
     put("fuzion.sys.err.flush"           , cl -> Value.UNIT );
     put("fuzion.sys.stdin.next_byte"     , cl -> new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc)) );
+    put("fuzion.sys.stdin.read"          , cl ->
+        {
+          if (cl._args.get(0) instanceof SysArray sa)
+            {
+              sa.setel(null, new NumericValue(cl._dfa, cl._dfa._fuir.clazz_u8()));
+            }
+          return new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc));
+        });
     put("i8.prefix -°"                   , cl -> { return new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc)); } );
     put("i16.prefix -°"                  , cl -> { return new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc)); } );
     put("i32.prefix -°"                  , cl -> { return new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc)); } );
@@ -1197,6 +1210,40 @@ public class DFA extends ANY
               throw new Error("intrinsic fuzion.sys.internal_array.gel: Expected class SysArray, found "+array.getClass()+" "+array);
             }
         });
+    put("fuzion.sys.internal_array.copy" , cl ->
+        {
+          var src   = cl._args.get(0);
+          var index = cl._args.get(1);
+          var dst   = cl._args.get(2);
+          if (src instanceof SysArray ssa && dst instanceof SysArray dsa)
+            {
+              var el = ssa.get(index);
+              if (el != null)
+                {
+                  dsa.setel(cl._args.get(3), el);
+                }
+              return Value.UNIT;
+            }
+          else
+            {
+              throw new Error("intrinsic fuzion.sys.internal_array.copy: Expected class SysArray, found "+src.getClass()+" "+src+" and "+dst.getClass()+" "+dst);
+            }
+        });
+    put("fuzion.sys.internal_array.compare_and_set0", cl ->
+        {
+          var array = cl._args.get(0);
+          var index = cl._args.get(1);
+          var value = cl._args.get(3);
+          if (array instanceof SysArray sa)
+            {
+              sa.setel(index, value);
+              return cl._dfa._bool;
+            }
+          else
+            {
+              throw new Error("intrinsic fuzion.sys.internal_array.compare_and_set0: Expected class SysArray, found "+array.getClass()+" "+array);
+            }
+        });
     put("fuzion.sys.env_vars.has0"       , cl -> cl._dfa._bool );
     put("fuzion.sys.env_vars.get0"       , cl -> cl._dfa.newConstString(null, cl) );
     put("fuzion.sys.env_vars.set0"       , cl -> cl._dfa._bool );
@@ -1213,8 +1260,10 @@ public class DFA extends ANY
           // NYI: spawn0 needs to set up an environment representing the new
           // thread and perform thread-related checks (race-detection. etc.)!
           var ncl = cl._dfa.newCall(call, false, cl._args.get(0), new List<>(), null /* new environment */, cl);
-          return Value.UNIT;
+          return new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc));
         });
+    put("fuzion.sys.thread.join0"        , cl -> Value.UNIT );
+    put("fuzion.sys.thread.processors"   , cl -> new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc)) );
     put("fuzion.std.nano_sleep"          , cl -> Value.UNIT );
     put("fuzion.std.nano_time"           , cl -> new NumericValue(cl._dfa, cl._dfa._fuir.clazzResultClazz(cl._cc)) );
 
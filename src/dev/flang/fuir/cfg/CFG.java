@@ -235,9 +235,12 @@ public class CFG extends ANY
     put("fuzion.sys.fileio.close"        , (cfg, cl) -> { } );
     put("fuzion.sys.fileio.seek"         , (cfg, cl) -> { } );
     put("fuzion.sys.fileio.file_position", (cfg, cl) -> { } );
+    put("fuzion.sys.fileio.mmap"         , (cfg, cl) -> { } );
+    put("fuzion.sys.fileio.munmap"       , (cfg, cl) -> { } );
     put("fuzion.sys.out.flush"           , (cfg, cl) -> { } );
     put("fuzion.sys.err.flush"           , (cfg, cl) -> { } );
     put("fuzion.sys.stdin.next_byte"     , (cfg, cl) -> { } );
+    put("fuzion.sys.stdin.read"          , (cfg, cl) -> { } );
     put("i8.prefix -°"                   , (cfg, cl) -> { } );
     put("i16.prefix -°"                  , (cfg, cl) -> { } );
     put("i32.prefix -°"                  , (cfg, cl) -> { } );
@@ -443,12 +446,16 @@ public class CFG extends ANY
     put("fuzion.sys.internal_array_init.alloc", (cfg, cl) -> { } );
     put("fuzion.sys.internal_array.setel", (cfg, cl) -> { } );
     put("fuzion.sys.internal_array.get"  , (cfg, cl) -> { } );
+    put("fuzion.sys.internal_array.copy" , (cfg, cl) -> { } );
+    put("fuzion.sys.internal_array.compare_and_set0", (cfg, cl) -> { } );
     put("fuzion.sys.env_vars.has0"       , (cfg, cl) -> { } );
     put("fuzion.sys.env_vars.get0"       , (cfg, cl) -> { } );
     put("fuzion.sys.env_vars.set0"       , (cfg, cl) -> { } );
     put("fuzion.sys.env_vars.unset0"     , (cfg, cl) -> { } );
     put("fuzion.sys.misc.unique_id"      , (cfg, cl) -> { } );
     put("fuzion.sys.thread.spawn0"       , (cfg, cl) -> { } );
+    put("fuzion.sys.thread.join0"        , (cfg, cl) -> { } );
+    put("fuzion.sys.thread.processors"   , (cfg, cl) -> { } );
     put("fuzion.std.nano_sleep"          , (cfg, cl) -> { } );
     put("fuzion.std.nano_time"           , (cfg, cl) -> { } );
     put("fuzion.std.date_time"           , (cfg, cl) -> { } );
@@ -100,6 +100,7 @@ public class MiddleEnd extends ANY
   {
     _options = options;
     _mir = mir;
+    Clazzes.reset();  // NYI: Clazzes should be owned by this MiddleEnd instead of being static
     Clazz._module = mod; // NYI: Bad hack!
   }
 
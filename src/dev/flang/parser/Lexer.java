@@ -395,6 +395,20 @@ public class Lexer extends SourceFile
   };
 
 
+  /**
+   * Code point classes for non-ASCII code points, indexed by
+   * UnicodeData.categoryIndex().
+   */
+  private static final byte[] _unicodeKind = new byte[UnicodeData.numCategories()];
+  static
+  {
+    for (var i = 0; i < _unicodeKind.length; i++)
+      {
+        _unicodeKind[i] = unicodeKind(UnicodeData.categoryName(i));
+      }
+  }
+
+
   /**
    * ASCII control sequence names or null if normal ASCII char.
    */
@@ -419,9 +433,37 @@ public class Lexer extends SourceFile
   };
 
 
+  /**
+   * All tokens, indexed by their ordinal, used to decode _rawTokens.
+   */
+  private static final Token[] TOKENS = Token.values();
+
+
+  /**
+   * Number of entries in _rawTokens, must be a power of two.
+   */
+  private static final int RAW_TOKENS_SIZE = 1024;
+
+
   /*----------------------------  variables  ----------------------------*/
 
 
+  /**
+   * Raw tokens that were found outside of strings recently, shared by this
+   * lexer and all its forks.  This is a direct mapped cache of RAW_TOKENS_SIZE
+   * entries of three ints each: A raw token starting at byte position p is
+   * found at index e = 3 * (p % RAW_TOKENS_SIZE), _rawTokens[e] is p + 1,
+   * _rawTokens[e+1] is the token's ordinal and _rawTokens[e+2] is the position
+   * after the token.
+   *
+   * Since the parser uses fork() to try alternatives, the same source text
+   * after the position of a fork is lexed several times, so this avoids
+   * decoding it again.  Forks do not look far ahead, so only the most recent
+   * tokens are kept.
+   */
+  private final int[] _rawTokens;
+
+
   /**
    * Stack of String lexers for escape sequences, identifiers and expressions
    * embedded in strings.
@@ -519,6 +561,7 @@ public class Lexer extends SourceFile
     if (PRECONDITIONS) require
       (fileName != null);
 
+    _rawTokens = new int[3 * RAW_TOKENS_SIZE];
     next();
   }
 
@@ -530,6 +573,7 @@ public class Lexer extends SourceFile
   {
     super(original);
 
+    _rawTokens = original._rawTokens;
     _curToken = original._curToken;
     _tokenPos = original._tokenPos;
     _lastTokenPos = original._lastTokenPos;
@@ -590,9 +634,29 @@ public class Lexer extends SourceFile
    */
   public boolean ignoredTokenAfter()
   {
-    var f = new Lexer(this);
-    f.nextRaw();
-    return ignore(f.currentNoLimit());
+    boolean result;
+    if (_stringLexer == null)
+      {
+        // no need to fork, lex the next raw token and go back:
+        var pos = bytePos();
+        var tokenPos = _tokenPos;
+        var token = _curToken;
+        var literal = _curLiteral;
+        nextRaw();
+        result = ignore(currentNoLimit());
+        _stringLexer = null;
+        _tokenPos = tokenPos;
+        _curToken = token;
+        _curLiteral = literal;
+        setPos(pos);
+      }
+    else
+      {
+        var f = new Lexer(this);
+        f.nextRaw();
+        result = ignore(f.currentNoLimit());
+      }
+    return result;
   }
 
 
@@ -970,9 +1034,12 @@ public class Lexer extends SourceFile
    */
   public void nextRaw()
   {
-    _tokenPos = bytePos();
+    var pos = bytePos();
+    _tokenPos = pos;
     int p = curCodePoint();
     var token = Token.t_undefined;
+    var memo = false;
+    var e = 3 * (pos & (RAW_TOKENS_SIZE - 1));
     if (p == SourceFile.END_OF_FILE)
       {
         token = Token.t_eof;
@@ -981,6 +1048,18 @@ public class Lexer extends SourceFile
       {
         token = _stringLexer.nextRaw();
       }
+    else if (_rawTokens[e] == pos + 1)
+      {
+        token = TOKENS[_rawTokens[e + 1]];
+        setPos(_rawTokens[e + 2]);
+      }
+    else
+      {
+        // tokens outside of strings depend only on their position, except for
+        // strings that may start a StringLexer, literals that set _curLiteral
+        // and errors that should be reported:
+        memo = kind(p) != K_DQUOTE && kind(p) != K_DIGIT;
+      }
     if (token == Token.t_undefined)
       {
         nextCodePoint();
@@ -1183,6 +1262,12 @@ IDENT     : ( 'a'..'z'
               token = Token.t_error;
             }
           }
+        if (memo && token != Token.t_error)
+          {
+            _rawTokens[e    ] = pos + 1;
+            _rawTokens[e + 1] = token.ordinal();
+            _rawTokens[e + 2] = bytePos();
+          }
       }
     _curToken = token;
   }
@@ -1316,46 +1401,58 @@ IDENT     : ( 'a'..'z'
       }
     else
       {
-        kind = switch (UnicodeData.category(p))
-          {
-          case "Cc" -> K_UNKNOWN;  // 	Other, Control
-          case "Cf" -> K_UNKNOWN;  // 	Other, Format
-          case "Cn" -> K_UNKNOWN;  // 	Other, Not Assigned (no characters in the file have this property)
-          case "Co" -> K_UNKNOWN;  // 	Other, Private Use
-          case "Cs" -> K_UNKNOWN;  // 	Other, Surrogate
-          case "LC" -> K_LETTER;   // 	Letter, Cased
-          case "Ll" -> K_LETTER;   // 	Letter, Lowercase
-          case "Lm" -> K_LETTER;   // 	Letter, Modifier
-          case "Lo" -> K_LETTER;   // 	Letter, Other
-          case "Lt" -> K_LETTER;   // 	Letter, Titlecase
-          case "Lu" -> K_LETTER;   // 	Letter, Uppercase
-          case "Mc" -> K_UNKNOWN;  // 	Mark, Spacing Combining
-          case "Me" -> K_UNKNOWN;  // 	Mark, Enclosing
-          case "Mn" -> K_UNKNOWN;  // 	Mark, Nonspacing
-          case "Nd" -> K_NUMERIC;  // 	Number, Decimal Digit
-          case "Nl" -> K_NUMERIC;  // 	Number, Letter
-          case "No" -> K_NUMERIC;  // 	Number, Other
-          case "Pc" -> K_OP;       // 	Punctuation, Connector
-          case "Pd" -> K_OP;       // 	Punctuation, Dash
-          case "Pe" -> K_OP;       // 	Punctuation, Close
-          case "Pf" -> K_OP;       // 	Punctuation, Final quote (may behave like Ps or Pe depending on usage)
-          case "Pi" -> K_OP;       // 	Punctuation, Initial quote (may behave like Ps or Pe depending on usage)
-          case "Po" -> K_OP;       // 	Punctuation, Other
-          case "Ps" -> K_OP;       // 	Punctuation, Open
-          case "Sc" -> K_OP;       // 	Symbol, Currency
-          case "Sk" -> K_OP;       // 	Symbol, Modifier
-          case "Sm" -> K_OP;       // 	Symbol, Math
-          case "So" -> K_OP;       // 	Symbol, Other
-          case "Zl" -> K_UNKNOWN;  // 	Separator, Line
-          case "Zp" -> K_UNKNOWN;  // 	Separator, Paragraph
-          case "Zs" -> K_UNKNOWN;  // 	Separator, Space
-          default   -> K_UNKNOWN;
-          };
+        kind = _unicodeKind[UnicodeData.categoryIndex(p)];
       }
     return kind;
   }
 
 
+  /**
+   * Determine the kind (K_*) of non-ASCII code points of the given unicode
+   * category.
+   *
+   * @param category a category name such as "Lu", "Sm", etc.
+   */
+  private static byte unicodeKind(String category)
+  {
+    return switch (category)
+      {
+      case "Cc" -> K_UNKNOWN;  // 	Other, Control
+      case "Cf" -> K_UNKNOWN;  // 	Other, Format
+      case "Cn" -> K_UNKNOWN;  // 	Other, Not Assigned (no characters in the file have this property)
+      case "Co" -> K_UNKNOWN;  // 	Other, Private Use
+      case "Cs" -> K_UNKNOWN;  // 	Other, Surrogate
+      case "LC" -> K_LETTER;   // 	Letter, Cased
+      case "Ll" -> K_LETTER;   // 	Letter, Lowercase
+      case "Lm" -> K_LETTER;   // 	Letter, Modifier
+      case "Lo" -> K_LETTER;   // 	Letter, Other
+      case "Lt" -> K_LETTER;   // 	Letter, Titlecase
+      case "Lu" -> K_LETTER;   // 	Letter, Uppercase
+      case "Mc" -> K_UNKNOWN;  // 	Mark, Spacing Combining
+      case "Me" -> K_UNKNOWN;  // 	Mark, Enclosing
+      case "Mn" -> K_UNKNOWN;  // 	Mark, Nonspacing
+      case "Nd" -> K_NUMERIC;  // 	Number, Decimal Digit
+      case "Nl" -> K_NUMERIC;  // 	Number, Letter
+      case "No" -> K_NUMERIC;  // 	Number, Other
+      case "Pc" -> K_OP;       // 	Punctuation, Connector
+      case "Pd" -> K_OP;       // 	Punctuation, Dash
+      case "Pe" -> K_OP;       // 	Punctuation, Close
+      case "Pf" -> K_OP;       // 	Punctuation, Final quote (may behave like Ps or Pe depending on usage)
+      case "Pi" -> K_OP;       // 	Punctuation, Initial quote (may behave like Ps or Pe depending on usage)
+      case "Po" -> K_OP;       // 	Punctuation, Other
+      case "Ps" -> K_OP;       // 	Punctuation, Open
+      case "Sc" -> K_OP;       // 	Symbol, Currency
+      case "Sk" -> K_OP;       // 	Symbol, Modifier
+      case "Sm" -> K_OP;       // 	Symbol, Math
+      case "So" -> K_OP;       // 	Symbol, Other
+      case "Zl" -> K_UNKNOWN;  // 	Separator, Line
+      case "Zp" -> K_UNKNOWN;  // 	Separator, Paragraph
+      case "Zs" -> K_UNKNOWN;  // 	Separator, Space
+      default   -> K_UNKNOWN;
+      };
+  }
+
+
   /**
    * skip a numeric literal.
    *
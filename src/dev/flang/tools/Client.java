@@ -0,0 +1,185 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class Client
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import java.net.UnixDomainSocketAddress;
+
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+
+import java.util.TreeMap;
+
+
+/**
+ * Client is the thin client used by bin/fz to forward a command to a compile
+ * server started by 'fz -server=<socket>', see Server for the protocol.
+ *
+ * This loads only a few classes such that it starts quickly.  It exits with
+ * status Server.NOT_SERVED if the server could not be reached or did not run
+ * the command, the caller then has to run fz itself.
+ */
+class Client
+{
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Environment variables that affect the behaviour of fz.  A server serves a
+   * request only if these are equal for client and server.
+   */
+  static final String[] ENV_VARS = new String[]
+    {
+      "PATH",
+      "FUZION_JAVA_OPTIONS",
+      "FUZION_DISABLE_ANSI_ESCAPES",
+      "FUZION_DEBUG_LOOPS",
+      "FUZION_DUMP_MODULE_FILE",
+      "PRECONDITIONS",
+      "POSTCONDITIONS",
+      "CHECKS",
+    };
+
+
+  /**
+   * Prefixes of system properties that affect the behaviour of fz.  A server
+   * serves a request only if these are equal for client and server.
+   */
+  static final String[] PROPERTY_PREFIXES = new String[]
+    {
+      "fuzion.",
+      "dev.flang.",
+      "FUZION_",
+      "file.encoding",
+      "line.separator",
+    };
+
+
+  /**
+   * System property that is expected to differ between client and server.
+   */
+  static final String COMMAND_PROPERTY = "fuzion.command";
+
+
+  /*--------------------------  static methods  -------------------------*/
+
+
+  /**
+   * The settings of this JVM that affect the behaviour of fz, i.e., the
+   * environment variables in ENV_VARS and the system properties starting with
+   * one of PROPERTY_PREFIXES.
+   *
+   * @return a map from "env:<name>" or "property:<name>" to the value, sorted
+   * by name.
+   */
+  static TreeMap<String, String> settings()
+  {
+    var result = new TreeMap<String, String>();
+    for (var v : ENV_VARS)
+      {
+        var e = System.getenv(v);
+        if (e != null)
+          {
+            result.put("env:" + v, e);
+          }
+      }
+    for (var p : System.getProperties().stringPropertyNames())
+      {
+        for (var prefix : PROPERTY_PREFIXES)
+          {
+            if (p.startsWith(prefix) && !p.equals(COMMAND_PROPERTY))
+              {
+                result.put("property:" + p, System.getProperty(p));
+              }
+          }
+      }
+    return result;
+  }
+
+
+  /**
+   * main the main method
+   *
+   * @param args the socket path followed by the arguments for fz.
+   */
+  public static void main(String[] args)
+  {
+    var status = Server.NOT_SERVED;
+    var received = false;
+    try (var ch = SocketChannel.open(UnixDomainSocketAddress.of(args[0])))
+      {
+        var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch)));
+        out.writeUTF(System.getProperty("user.dir"));
+        var settings = settings();
+        out.writeInt(settings.size());
+        for (var e : settings.entrySet())
+          {
+            out.writeUTF(e.getKey());
+            out.writeUTF(e.getValue());
+          }
+        out.writeInt(args.length - 1);
+        for (var i = 1; i < args.length; i++)
+          {
+            out.writeUTF(args[i]);
+          }
+        out.flush();
+        var in = new DataInputStream(Channels.newInputStream(ch));
+        var kind = in.readByte();
+        received = true;
+        while (kind != Server.EXIT)
+          {
+            var b = new byte[in.readInt()];
+            in.readFully(b);
+            (kind == Server.STDOUT ? System.out : System.err).write(b);
+            kind = in.readByte();
+          }
+        status = in.readInt();
+      }
+    catch (IOException e)
+      {
+        // if the server has started to reply, it has started running the
+        // command, so running it again locally might repeat its effects:
+        if (received)
+          {
+            System.err.println("fz client: I/O error while receiving reply from server: " + e);
+            status = 1;
+          }
+      }
+    System.out.flush();
+    System.err.flush();
+    System.exit(status);
+  }
+
+}
+
+/* end of file */
@@ -80,13 +80,6 @@ class Fuzion extends Tool
   static final String FUZION_SAFETY_PROPERTY = "fuzion.safety";
 
 
-  static String  _binaryName_ = null;
-  static boolean _useBoehmGC_ = false;
-  static boolean _xdfa_ = true;
-  static String _cCompiler_ = null;
-  static String _cFlags_ = null;
-
-
   /**
    * Fuzion Backends:
    */
@@ -98,7 +91,11 @@ class Fuzion extends Tool
       {
         return true;
       }
-      void process(FuzionOptions options, FUIR fuir)
+      boolean runsInServer()
+      {
+        return false;
+      }
+      void process(Fuzion f, FuzionOptions options, FUIR fuir)
       {
         new Interpreter(options, fuir).run();
       }
@@ -115,34 +112,34 @@ class Fuzion extends Tool
         boolean result = false;
         if (o.startsWith("-o="))
           {
-            _binaryName_ = o.substring(3);
+            f._binaryName = o.substring(3);
             result = true;
           }
         else if (o.equals("-useGC"))
           {
-            _useBoehmGC_ = true;
+            f._useBoehmGC = true;
             result = true;
           }
         else if (o.startsWith("-Xdfa="))
           {
-            _xdfa_ = parseOnOffArg(o);
+            f._xdfa = parseOnOffArg(o);
             result = true;
           }
         else if (o.startsWith("-CC="))
           {
-            _cCompiler_ = o.substring(4);
+            f._cCompiler = o.substring(4);
             result = true;
           }
         else if (o.startsWith("-CFlags="))
           {
-            _cFlags_ = o.substring(8);
+            f._cFlags = o.substring(8);
             result = true;
           }
         return result;
       }
-      void process(FuzionOptions options, FUIR fuir)
+      void process(Fuzion f, FuzionOptions options, FUIR fuir)
       {
-        new C(new COptions(options, _binaryName_, _useBoehmGC_, _xdfa_, _cCompiler_, _cFlags_), fuir).compile();
+        new C(new COptions(options, f._binaryName, f._useBoehmGC, f._xdfa, f._cCompiler, f._cFlags, f._inServer), fuir).compile();
       }
     },
 
@@ -154,7 +151,7 @@ class Fuzion extends Tool
 
     dfa        ("-dfa")
     {
-      void process(FuzionOptions options, FUIR fuir)
+      void process(Fuzion f, FuzionOptions options, FUIR fuir)
       {
         new DFA(options, fuir).dfa();
       }
@@ -168,7 +165,7 @@ class Fuzion extends Tool
     dumpFUIR   ("-XdumpFUIR")
     {
       boolean runsCode() { return false; }
-      void process(FuzionOptions options, FUIR fuir)
+      void process(Fuzion f, FuzionOptions options, FUIR fuir)
       {
         fuir.dumpCode();
       }
@@ -180,7 +177,7 @@ class Fuzion extends Tool
       {
         return "";
       }
-      void process(FuzionOptions options, FUIR fuir)
+      void process(Fuzion f, FuzionOptions options, FUIR fuir)
       {
         new Effects(fuir).find();
       }
@@ -356,6 +353,16 @@ class Fuzion extends Tool
       return false;
     }
 
+    /**
+     * May this backend be run by a compile server started via '-server'? This
+     * is not the case for backends that execute the application since the
+     * application might exit or read stdin.
+     */
+    boolean runsInServer()
+    {
+      return true;
+    }
+
     /**
      * If this backend processes the front end data directly, this method will
      * do that and return true.
@@ -365,10 +372,10 @@ class Fuzion extends Tool
       var mir = fe.createMIR();                                                       f.timer("createMIR");
       var air = new MiddleEnd(fe._options, mir, fe.module() /* NYI: remove */).air(); f.timer("me");
       var fuir = new Optimizer(fe._options, air).fuir();                              f.timer("ir");
-      process(fe._options, fuir);
+      process(f, fe._options, fuir);
     }
 
-    void process(FuzionOptions options, FUIR fuir)
+    void process(Fuzion f, FuzionOptions options, FUIR fuir)
     {
       Errors.fatal("backend '" + this + "' not supported yet");
     }
@@ -456,6 +463,12 @@ class Fuzion extends Tool
   boolean _readStdin = false;
 
 
+  /**
+   * Is this run by a compile server?  Set by Server.
+   */
+  boolean _inServer = false;
+
+
   /**
    * name of main features .
    */
@@ -468,6 +481,36 @@ class Fuzion extends Tool
   Backend _backend = Backend.undefined;
 
 
+  /**
+   * C backend: name of the binary to create, null for default.
+   */
+  String _binaryName = null;
+
+
+  /**
+   * C backend: use Boehm GC?
+   */
+  boolean _useBoehmGC = false;
+
+
+  /**
+   * C backend: use DFA to optimize the code?
+   */
+  boolean _xdfa = true;
+
+
+  /**
+   * C backend: C compiler to use, null for default.
+   */
+  String _cCompiler = null;
+
+
+  /**
+   * C backend: flags passed to the C compiler, null for default.
+   */
+  String _cFlags = null;
+
+
   /*--------------------------  static methods  -------------------------*/
 
 
@@ -490,7 +533,7 @@ class Fuzion extends Tool
    *
    * @param args the command line arguments.
    */
-  private Fuzion(String[] args)
+  Fuzion(String[] args)
   {
     super("fz", args);
   }
@@ -542,7 +585,8 @@ class Fuzion extends Tool
           "       " + _cmd + " [" + aba + "] [-h|--help|-version] [<backend specific options>]  --or--\n" +
           "       " + _cmd + " -pretty " + std + " ({<file>} | -)  --or--\n" +
           "       " + _cmd + " -latex " + std + "  --or--\n" +
-          "       " + _cmd + " -acemode " + std + "  --or--\n";
+          "       " + _cmd + " -acemode " + std + "  --or--\n" +
+          "       " + _cmd + " -server=<socket> " + std + "\n";
       }
     else
       {
@@ -581,6 +625,10 @@ class Fuzion extends Tool
       {
         return parseArgsAceMode(args);
       }
+    else if (args.length >= 1 && args[0].startsWith("-server="))
+      {
+        return parseArgsServer(args);
+      }
     else
       {
         return parseArgsForBackend(args);
@@ -699,6 +747,43 @@ class Fuzion extends Tool
   }
 
 
+  /**
+   * Parse the given command line args for the compile server and create a
+   * runnable that executes it.  System.exit() in case of error or -help.
+   *
+   * @param args the command line arguments
+   *
+   * @return a Runnable to run the compile server.
+   */
+  private Runnable parseArgsServer(String[] args)
+  {
+    var socket = parsePath(args[0]);
+    for (var i = 1; i < args.length; i++)
+      {
+        if (!parseGenericArg(args[i]))
+          {
+            unknownArg(args[i]);
+          }
+      }
+    return () ->
+      {
+        new Server(socket, _verbose).run();
+      };
+  }
+
+
+  /**
+   * Can the compilation requested by the command line args passed to
+   * parseArgs() be performed by a compile server?  This is the case if a
+   * backend is used that does not run the application and the input is not
+   * read from stdin.  Tools like -pretty or -server are not run by a server.
+   */
+  boolean runsInServer()
+  {
+    return _backend != Backend.undefined && _backend.runsInServer() && !_readStdin;
+  }
+
+
   /**
    * Parse the given command line args to run Fuzion to create or execute code.
    * Return a runnable that runs fuzion.  System.exit() in case of error or
@@ -0,0 +1,368 @@
+/*
+
+This file is part of the Fuzion language implementation.
+
+The Fuzion language implementation is free software: you can redistribute it
+and/or modify it under the terms of the GNU General Public License as published
+by the Free Software Foundation, version 3 of the License.
+
+The Fuzion language implementation is distributed in the hope that it will be
+useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public
+License for more details.
+
+You should have received a copy of the GNU General Public License along with The
+Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
+
+*/
+
+/*-----------------------------------------------------------------------
+ *
+ * Tokiwa Software GmbH, Germany
+ *
+ * Source of class Server
+ *
+ *---------------------------------------------------------------------*/
+
+package dev.flang.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import dev.flang.util.ANY;
+import dev.flang.util.Errors;
+import dev.flang.util.FatalError;
+
+
+/**
+ * Server is a compile server started by 'fz -server=<socket>'.  It listens on
+ * a Unix domain socket and runs the fz commands sent by Client in this JVM,
+ * such that JVM startup and JIT compilation of the compiler have to be paid
+ * only once.
+ *
+ * Requests are handled one at a time since the compiler holds its state in
+ * static fields.  A request is not served, i.e., NOT_SERVED is returned and
+ * the client has to run fz itself, if the client's working directory or its
+ * settings, i.e., the environment variables and system properties given by
+ * Client.settings(), differ from the server's, if the command uses an option
+ * that changes JVM-global state (see GLOBAL_OPTIONS) that would remain in
+ * effect for later requests, or if the command would run the application,
+ * e.g., using the interpreter, or read stdin.
+ *
+ * The protocol is as follows: The client sends its working directory, the
+ * number of settings followed by the name and value of each setting, and the
+ * number of arguments and the arguments using DataOutputStream.writeUTF and
+ * writeInt.  The server replies with a sequence of frames, each consisting of
+ * a byte STDOUT or STDERR, an int length and the corresponding bytes of
+ * output, terminated by the byte EXIT followed by the int exit status.
+ *
+ * NYI: Library modules like base.fum are loaded again for every request
+ * instead of being kept in memory, and results for an unchanged source tree
+ * are not cached.
+ */
+class Server extends ANY
+{
+
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Exit status returned to the client if the request was not served.
+   */
+  static final int NOT_SERVED = 125;
+
+
+  /**
+   * Frame kinds sent from the server to the client.
+   */
+  static final byte EXIT   = 0;
+  static final byte STDOUT = 1;
+  static final byte STDERR = 2;
+
+
+  /**
+   * Options that are not served since Tool.parseGenericArg() handles them by
+   * modifying JVM-global state that is not reset between requests: system
+   * properties, the static limits in Errors or the profiler.  Entries ending
+   * in '=' are prefixes of options with an argument.
+   */
+  static final String[] GLOBAL_OPTIONS = new String[] {
+    "-noANSI",
+    "-XjavaProf",
+    Errors.MAX_ERROR_MESSAGES_OPTION + "=",
+    Errors.MAX_WARNING_MESSAGES_OPTION + "=",
+  };
+
+
+  /*----------------------------  variables  ----------------------------*/
+
+
+  /**
+   * The path of the Unix domain socket to listen on.
+   */
+  private final Path _socket;
+
+
+  /**
+   * Level of verbosity of output on the server's stdout.
+   */
+  private final int _verbose;
+
+
+  /*--------------------------  constructors  ---------------------------*/
+
+
+  /**
+   * Create a compile server
+   *
+   * @param socket the path of the Unix domain socket to listen on.
+   *
+   * @param verbose level of verbosity.
+   */
+  Server(Path socket, int verbose)
+  {
+    _socket = socket;
+    _verbose = verbose;
+  }
+
+
+  /*-----------------------------  methods  -----------------------------*/
+
+
+  /**
+   * Run the server, does not return unless an I/O error occurred.
+   */
+  void run()
+  {
+    try (var ss = ServerSocketChannel.open(StandardProtocolFamily.UNIX))
+      {
+        ss.bind(UnixDomainSocketAddress.of(_socket));
+        _socket.toFile().deleteOnExit();
+        if (_verbose > 0)
+          {
+            System.out.println(" + fz server listening on " + _socket);
+          }
+        while (true)
+          {
+            try (var ch = ss.accept())
+              {
+                serve(ch);
+              }
+            catch (IOException e)
+              {
+                System.err.println("fz server: I/O error while serving request: " + e);
+              }
+          }
+      }
+    catch (IOException e)
+      {
+        Errors.fatal("fz server: I/O error",
+                     "While trying to listen on '" + _socket + "' received '" + e + "'");
+      }
+  }
+
+
+  /**
+   * Read one request from ch, run it and send the output and exit status.
+   *
+   * @param ch the connection to a client
+   */
+  private void serve(SocketChannel ch) throws IOException
+  {
+    var in = new DataInputStream(Channels.newInputStream(ch));
+    var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch)));
+    var cwd = in.readUTF();
+    var settings = new TreeMap<String, String>();
+    var n = in.readInt();
+    for (var i = 0; i < n; i++)
+      {
+        var name = in.readUTF();
+        settings.put(name, in.readUTF());
+      }
+    var args = new String[in.readInt()];
+    for (var i = 0; i < args.length; i++)
+      {
+        args[i] = in.readUTF();
+      }
+    var global = globalOption(args);
+    var mismatch =
+      !cwd.equals(System.getProperty("user.dir")) ? "working directory '" + cwd + "' differs" :
+      global != null                              ? "option '" + global + "' changes global state"
+                                                  : settingsMismatch(settings);
+    var status = mismatch == null ? compile(args, out)
+                                  : NOT_SERVED;
+    if (_verbose > 0)
+      {
+        System.out.println(" + fz " + String.join(" ", args) + ": " +
+                           (mismatch != null        ? "not served, " + mismatch :
+                            status   == NOT_SERVED  ? "not served"
+                                                    : "exit " + status));
+      }
+    out.writeByte(EXIT);
+    out.writeInt(status);
+    out.flush();
+  }
+
+
+  /**
+   * Find the first argument that is one of GLOBAL_OPTIONS.
+   *
+   * @param args the command line arguments
+   *
+   * @return the argument found or null if none.
+   */
+  private static String globalOption(String[] args)
+  {
+    for (var a : args)
+      {
+        for (var o : GLOBAL_OPTIONS)
+          {
+            if (o.endsWith("=") ? a.startsWith(o) : a.equals(o))
+              {
+                return a;
+              }
+          }
+      }
+    return null;
+  }
+
+
+  /**
+   * Compare the client's settings to the server's.
+   *
+   * @param settings the settings sent by the client.
+   *
+   * @return null if the settings are equal, otherwise a message naming the
+   * first setting that differs.
+   */
+  private String settingsMismatch(TreeMap<String, String> settings)
+  {
+    var own = Client.settings();
+    var names = new TreeSet<String>(own.keySet());
+    names.addAll(settings.keySet());
+    for (var name : names)
+      {
+        if (!Objects.equals(own.get(name), settings.get(name)))
+          {
+            return name + " differs";
+          }
+      }
+    return null;
+  }
+
+
+  /**
+   * Run fz with the given arguments while sending stdout and stderr to out.
+   *
+   * @param args the command line arguments
+   *
+   * @param out the stream to send the output frames to.
+   *
+   * @return the exit status, NOT_SERVED if the command cannot be run by the
+   * server.
+   */
+  private int compile(String[] args, DataOutputStream out)
+  {
+    var status = 0;
+    var sysOut = System.out;
+    var sysErr = System.err;
+    System.setOut(new PrintStream(new Frames(out, STDOUT), true, StandardCharsets.UTF_8));
+    System.setErr(new PrintStream(new Frames(out, STDERR), true, StandardCharsets.UTF_8));
+    try
+      {
+        try
+          {
+            Errors.reset();
+            var f = new Fuzion(args);
+            f._inServer = true;
+            var r = f.parseArgs(args);
+            if (f.runsInServer())
+              {
+                f._timer = System.currentTimeMillis();
+                r.run();
+                Errors.showAndExit(true);
+              }
+            else
+              {
+                status = NOT_SERVED;
+              }
+          }
+        catch (Throwable e)
+          {
+            Errors.fatal(e);
+          }
+      }
+    catch (FatalError e)
+      {
+        status = e.getStatus();
+      }
+    finally
+      {
+        System.out.flush();
+        System.err.flush();
+        System.setOut(sysOut);
+        System.setErr(sysErr);
+      }
+    return status;
+  }
+
+
+  /**
+   * OutputStream that sends all data written to it as frames of given kind.
+   */
+  static class Frames extends OutputStream
+  {
+    final DataOutputStream _out;
+    final byte _kind;
+
+    Frames(DataOutputStream out, byte kind)
+    {
+      _out = out;
+      _kind = kind;
+    }
+
+    public void write(int b) throws IOException
+    {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException
+    {
+      synchronized (_out)
+        {
+          _out.writeByte(_kind);
+          _out.writeInt(len);
+          _out.write(b, off, len);
+        }
+    }
+
+    public void flush() throws IOException
+    {
+      synchronized (_out)
+        {
+          _out.flush();
+        }
+    }
+  }
+
+}
+
+/* end of file */
@@ -241,19 +241,19 @@ public abstract class Tool extends ANY
         a.equals("--help")    )
       {
         System.out.println(USAGE(false));
-        System.exit(0);
+        throw new FatalError(0);
       }
     else if (a.equals("-X"     ) ||
              a.equals("-Xhelp" ) ||
              a.equals("--Xhelp")    )
       {
         System.out.println(USAGE(true));
-        System.exit(0);
+        throw new FatalError(0);
       }
     else if (a.equals("-version"))
       {
         System.out.println(_rawCmd + " V" + fullVersion()); ;
-        System.exit(0);
+        throw new FatalError(0);
       }
     else if (a.equals("-XjavaProf"))
       {
@@ -27,10 +27,10 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 package dev.flang.util;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.stream.IntStream;
 
 
 /**
@@ -136,6 +136,16 @@ public class SourceFile extends ANY
   private int _lines[];
 
 
+  /**
+   * For every line l, _asciiLines[l] is true iff line l consists of ASCII
+   * characters only, such that byte positions within that line correspond to
+   * code point indices.
+   *
+   * This is created together with _lines by lines();
+   */
+  private boolean _asciiLines[];
+
+
   /**
    * The current codePoint, i.e., the last result of decodeCodePoint[AndSize].
    * BAD_CODEPOINT if decodeCodePoint has not been called yet, END_OF_FILE if
@@ -215,6 +225,7 @@ public class SourceFile extends ANY
     _fileName = original._fileName;
     _bytes    = original._bytes;
     _lines    = original._lines;
+    _asciiLines = original._asciiLines;
     _pos      = original._pos;
     _cur      = original._cur;
     _size     = original._size;
@@ -604,27 +615,46 @@ public class SourceFile extends ANY
   {
     if (_lines == null)
       {
-        IntStream.Builder b = IntStream.builder();
-        b.add(-1);  // dummy line # 0 does not exist.
-        int sz;
-        int curCodePoint  = BEGINNING_OF_FILE;
-        for (int pos = 0;
-             _bytes != null && pos < _bytes.length;
-             pos = pos + sz)
+        var lines = new int[64];
+        var ascii = new boolean[64];
+        lines[0] = -1;  // dummy line # 0 does not exist.
+        int n = 1;
+        int len = _bytes == null ? 0 : _bytes.length;
+        int curCodePoint = BEGINNING_OF_FILE;
+        int pos = 0;
+        while (pos <= len)
           {
             if (isNewLine(curCodePoint))
               {
-                b.add(pos);
+                if (n == lines.length)
+                  {
+                    lines = Arrays.copyOf(lines, 2 * n);
+                    ascii = Arrays.copyOf(ascii, 2 * n);
+                  }
+                lines[n] = pos;
+                ascii[n] = true;
+                n++;
+              }
+            if (pos == len)
+              {
+                break;
+              }
+            int b = _bytes[pos];
+            if (b >= 0)  // ASCII, no need to decode
+              {
+                curCodePoint = b;
+                pos++;
+              }
+            else
+              {
+                ascii[n-1] = false;
+                int cpAndSz = decodeCodePointAndSize(pos);
+                curCodePoint = codePointFromCpAndSize(cpAndSz);
+                pos = pos + sizeFromCpAndSize(cpAndSz);
               }
-            int cpAndSz  = decodeCodePointAndSize(pos);
-            curCodePoint = codePointFromCpAndSize(cpAndSz);
-            sz           = sizeFromCpAndSize     (cpAndSz);
-          }
-        if (isNewLine(curCodePoint))
-          {
-            b.add(_bytes.length);
           }
-        _lines = b.build().toArray();
+        _asciiLines = Arrays.copyOf(ascii, n);
+        _lines = Arrays.copyOf(lines, n);
       }
     return _lines;
   }
@@ -801,9 +831,19 @@ public class SourceFile extends ANY
       (line > 0);
 
     int c = 1;
-    for (int i = lineStartPos(line); i < pos; i = i + sizeFromCpAndSize(decodeCodePointAndSize(i)))
+    int[] lines = lines();
+    int start = lines[line];
+    int end = line + 1 < lines.length ? lines[line + 1] : _bytes.length;
+    if (_asciiLines[line] && pos <= end)
+      {
+        c = Math.max(1, pos - start + 1);
+      }
+    else
       {
-        c++;
+        for (int i = start; i < pos; i = i + sizeFromCpAndSize(decodeCodePointAndSize(i)))
+          {
+            c++;
+          }
       }
     return c;
   }
@@ -869,6 +909,11 @@ public class SourceFile extends ANY
         StringBuilder sb = new StringBuilder();
         int pos = lines[l];
         int lineEnd = l+1 < lines.length ? lines[l+1] : _bytes.length;
+        if (_asciiLines[l])
+          {
+            sb.append(new String(_bytes, pos, lineEnd - pos, StandardCharsets.US_ASCII));
+            pos = lineEnd;
+          }
         while (pos < lineEnd)
           {
             int cpAndSz = decodeCodePointAndSize(pos);
@@ -26,6 +26,11 @@ Fuzion language implementation.  If not, see <https://www.gnu.org/licenses/>.
 
 package dev.flang.util;
 
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
 import dev.flang.util.ANY;
 
 
@@ -39,6 +44,24 @@ import dev.flang.util.ANY;
 public class UnicodeData extends ANY
 {
 
+
+  /*----------------------------  constants  ----------------------------*/
+
+
+  /**
+   * Number of code points, i.e., the maximum code point plus one.
+   */
+  private static final int NUM_CODE_POINTS = 0x110000;
+
+
+  /**
+   * log2 of the number of code points in one block of the two-level category
+   * table.
+   */
+  private static final int BLOCK_BITS = 7;
+  private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+
   /*-------------------------  static variables  ------------------------*/
 
 
@@ -706,6 +729,56 @@ public class UnicodeData extends ANY
   /* generated code end. */
 
 
+  /**
+   * Two-level table of category indices as returned by categoryIndex(): The
+   * category index of code point cp is found in _CATEGORY_INDEX_ at the
+   * position given by block _BLOCK_[cp >> BLOCK_BITS] and cp's offset within
+   * that block.  Blocks with equal contents are stored only once, e.g., most
+   * blocks contain only "Cn".
+   *
+   * This is derived from the generated ranges when this class is initialized.
+   */
+  private static final char[] _BLOCK_ = new char[NUM_CODE_POINTS >> BLOCK_BITS];
+  private static final byte[] _CATEGORY_INDEX_;
+  static
+  {
+    var cat = new byte[_CATEGORY_.length];
+    for (var i = 0; i < cat.length; i++)
+      {
+        cat[i] = (byte) (Arrays.binarySearch(_CATEGORIES_, _CATEGORY_[i]) + 1);
+      }
+    var blocks = new HashMap<ByteBuffer, Integer>();
+    var data = new byte[BLOCK_SIZE * 64];
+    var r = 0;
+    for (var i = 0; i < _BLOCK_.length; i++)
+      {
+        var b = new byte[BLOCK_SIZE];
+        for (var j = 0; j < BLOCK_SIZE; j++)
+          {
+            var cp = (i << BLOCK_BITS) + j;
+            while (r < _END_.length && _END_[r] < cp)
+              {
+                r++;
+              }
+            b[j] = r < _START_.length && _START_[r] <= cp ? cat[r] : 0;
+          }
+        var n = blocks.size();
+        var k = blocks.putIfAbsent(ByteBuffer.wrap(b), n);
+        if (k == null)
+          {
+            if (data.length < (n + 1) * BLOCK_SIZE)
+              {
+                data = Arrays.copyOf(data, data.length * 2);
+              }
+            System.arraycopy(b, 0, data, n * BLOCK_SIZE, BLOCK_SIZE);
+            k = n;
+          }
+        _BLOCK_[i] = (char) (int) k;
+      }
+    _CATEGORY_INDEX_ = Arrays.copyOf(data, blocks.size() * BLOCK_SIZE);
+  }
+
+
   /*--------------------------  static methods  -------------------------*/
 
   /**
@@ -718,19 +791,49 @@ public class UnicodeData extends ANY
    */
   public static String category(int codePoint)
   {
-    int l = 0;
-    int r = _START_.length-1;
-    while (l <= r)
-      {
-        int m = (l + r) / 2;
-        if      (_START_[m] > codePoint) { r = m - 1; }
-        else if (_END_  [m] < codePoint) { l = m + 1; }
-        else
-          {
-            return _CATEGORY_[m];
-          }
-      }
-    return "Cn";
+    return categoryName(categoryIndex(codePoint));
+  }
+
+
+  /**
+   * Get the category of a given code point as a small integer.  This is an
+   * O(1) table lookup, use categoryName() to get the name of the category.
+   *
+   * @param codePoint a code point
+   *
+   * @return the category index, 0 if codePoint is not a defined unicode code
+   * point, i.e., its category is "Cn".
+   */
+  public static int categoryIndex(int codePoint)
+  {
+    return 0 <= codePoint && codePoint < NUM_CODE_POINTS
+      ? _CATEGORY_INDEX_[(_BLOCK_[codePoint >> BLOCK_BITS] << BLOCK_BITS) + (codePoint & (BLOCK_SIZE - 1))]
+      : 0;
+  }
+
+
+  /**
+   * Number of different results of categoryIndex().
+   */
+  public static int numCategories()
+  {
+    return _CATEGORIES_.length + 1;
+  }
+
+
+  /**
+   * Get the name of the category with the given index.
+   *
+   * @param index a category index as returned by categoryIndex().
+   *
+   * @return the category name such as "Cn", "Lu", "Sm", etc.
+   */
+  public static String categoryName(int index)
+  {
+    if (PRECONDITIONS) require
+      (0 <= index && index < numCategories());
+
+    return index == 0 ? "Cn" : _CATEGORIES_[index - 1];
   }
 
 }